@@ -0,0 +1,102 @@
+package uni.plovdiv.webserver.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.plovdiv.webserver.DemoApplication;
+import uni.plovdiv.webserver.service.GarageService;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class BenchmarkDataset implements AutoCloseable {
+
+    public static final LocalDate FIRST_DAY = LocalDate.now();
+
+    public static final int DAYS = 365;
+
+    private static final int GARAGE_CAPACITY = 1_000_000;
+
+    private final ConfigurableApplicationContext context;
+
+    private final int garages;
+
+    private final int carsPerGarage;
+
+    public BenchmarkDataset(int garages, int carsPerGarage, int maintenancesPerCar, String... properties) {
+        this(WebApplicationType.NONE, garages, carsPerGarage, maintenancesPerCar, properties);
+    }
+
+    public BenchmarkDataset(WebApplicationType webApplicationType, int garages, int carsPerGarage, int maintenancesPerCar, String... properties) {
+        this.garages = garages;
+        this.carsPerGarage = carsPerGarage;
+        List<String> allProperties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "server.port=0"));
+        allProperties.addAll(List.of(properties));
+        this.context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(webApplicationType)
+                .run(allProperties.stream().map(property -> "--" + property).toArray(String[]::new));
+        seed(maintenancesPerCar);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int localPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public int randomGarageId() {
+        return ThreadLocalRandom.current().nextInt(garages) + 1;
+    }
+
+    public int randomCarId(int garageId) {
+        return (garageId - 1) * carsPerGarage + ThreadLocalRandom.current().nextInt(carsPerGarage) + 1;
+    }
+
+    public LocalDate randomDay() {
+        return FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(DAYS));
+    }
+
+    private void seed(int maintenancesPerCar) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> garageRows = new ArrayList<>();
+        for (int garage = 1; garage <= garages; garage++) {
+            garageRows.add(new Object[]{"Garage " + garage, "Street " + garage, "City " + (garage % 10), GARAGE_CAPACITY});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO garage (name, location, city, capacity) VALUES (?, ?, ?, ?)", garageRows);
+
+        List<Object[]> carRows = new ArrayList<>();
+        List<Object[]> registrationRows = new ArrayList<>();
+        List<Object[]> maintenanceRows = new ArrayList<>();
+        int carId = 0;
+        for (int garage = 1; garage <= garages; garage++) {
+            for (int car = 0; car < carsPerGarage; car++) {
+                carId++;
+                carRows.add(new Object[]{"Make " + (carId % 20), "Model " + (carId % 50), 1995 + carId % 30, "PB%06dAA".formatted(carId)});
+                registrationRows.add(new Object[]{carId, garage});
+                for (int maintenance = 0; maintenance < maintenancesPerCar; maintenance++) {
+                    LocalDate scheduledDate = FIRST_DAY.plusDays((carId * 31L + maintenance * 7L) % DAYS);
+                    maintenanceRows.add(new Object[]{carId, garage, "Service " + maintenance, Date.valueOf(scheduledDate)});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO car (make, model, production_year, license_palte) VALUES (?, ?, ?, ?)", carRows);
+        jdbcTemplate.batchUpdate("INSERT INTO car_garages (car_id, garage_id) VALUES (?, ?)", registrationRows);
+        jdbcTemplate.batchUpdate("INSERT INTO maintenance (car_id, garage_id, service_type, scheduled_date) VALUES (?, ?, ?, ?)", maintenanceRows);
+        context.getBean(GarageService.class).rebuildDailyOccupancy();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
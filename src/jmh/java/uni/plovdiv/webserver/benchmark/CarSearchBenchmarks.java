@@ -0,0 +1,78 @@
+package uni.plovdiv.webserver.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import uni.plovdiv.webserver.repository.projection.CarView;
+import uni.plovdiv.webserver.service.CarSearchIndex;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(jvmArgsAppend = "-Xmx3g")
+public class CarSearchBenchmarks {
+
+    private static final String REGIONS = "ABCEHKMOPTXY";
+
+    private static final List<String> MAKES = List.of("Audi", "BMW", "Citroen", "Dacia", "Fiat", "Ford", "Honda", "Hyundai", "Kia", "Mazda",
+            "Mercedes-Benz", "Mitsubishi", "Nissan", "Opel", "Peugeot", "Renault", "Seat", "Skoda", "Toyota", "Volkswagen");
+
+    private static final List<String> MODELS = List.of("A4", "320d", "C3", "Duster", "Punto", "Focus", "Civic", "i30", "Ceed", "CX-5",
+            "C 200", "Lancer", "Qashqai", "Astra", "308", "Clio", "Leon", "Octavia", "Corolla", "Golf");
+
+    @Param("1000000")
+    private int cars;
+
+    private CarSearchIndex index;
+
+    private String[] licensePlates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        licensePlates = new String[cars];
+        index = new CarSearchIndex();
+        index.rebuild(consumer -> {
+            for (int id = 1; id <= cars; id++) {
+                String licensePlate = "%c%c %04d %c%c".formatted(region(random), region(random), random.nextInt(10_000),
+                        region(random), region(random));
+                int make = random.nextInt(MAKES.size());
+                licensePlates[id - 1] = licensePlate;
+                consumer.accept(new CarView(id, MAKES.get(make), MODELS.get(make), 2000 + random.nextInt(25), licensePlate));
+            }
+        });
+    }
+
+    @Benchmark
+    public CarSearchIndex.Hits partialLicensePlate() {
+        String licensePlate = randomLicensePlate();
+        return index.search(licensePlate.substring(3, 7), 0, 20);
+    }
+
+    @Benchmark
+    public CarSearchIndex.Hits exactLicensePlate() {
+        return index.search(randomLicensePlate(), 0, 20);
+    }
+
+    @Benchmark
+    public CarSearchIndex.Hits makeAndPlatePrefix() {
+        String licensePlate = randomLicensePlate();
+        return index.search("opel " + licensePlate.substring(0, 4), 0, 20);
+    }
+
+    @Benchmark
+    public CarSearchIndex.Hits makeModel() {
+        return index.search("skoda octavia", 0, 20);
+    }
+
+    private String randomLicensePlate() {
+        return licensePlates[ThreadLocalRandom.current().nextInt(licensePlates.length)];
+    }
+
+    private static char region(SplittableRandom random) {
+        return REGIONS.charAt(random.nextInt(REGIONS.length()));
+    }
+}
@@ -0,0 +1,81 @@
+package uni.plovdiv.webserver.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import uni.plovdiv.webserver.dto.garage.DailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.GarageDailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.GarageMonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.service.FleetReportService;
+import uni.plovdiv.webserver.service.GarageService;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = "-Xmx2g")
+public class FleetReportBenchmarks {
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int parallelism;
+
+    @Param({"calendar", "database"})
+    private String source;
+
+    @Param("2000")
+    private int garages;
+
+    @Param("2")
+    private int carsPerGarage;
+
+    @Param("20")
+    private int maintenancesPerCar;
+
+    private BenchmarkDataset dataset;
+
+    private FleetReportService fleetReportService;
+
+    private GarageService garageService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int futureDays = source.equals("calendar") ? BenchmarkDataset.DAYS : 0;
+        dataset = new BenchmarkDataset(garages, carsPerGarage, maintenancesPerCar,
+                "fleet.reports.parallelism=" + parallelism,
+                "fleet.reports.max-connections=" + parallelism,
+                "spring.datasource.hikari.maximum-pool-size=" + (parallelism + 2),
+                "occupancy.calendar.future-days=" + futureDays);
+        fleetReportService = dataset.getBean(FleetReportService.class);
+        garageService = dataset.getBean(GarageService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<GarageDailyAvailabilityReportDTO> fleetDailyAvailabilityReport() {
+        return fleetReportService.getDailyAvailabilityReport(null, BenchmarkDataset.FIRST_DAY, BenchmarkDataset.FIRST_DAY.plusDays(BenchmarkDataset.DAYS - 1));
+    }
+
+    @Benchmark
+    public List<GarageMonthlyRequestsReportDTO> fleetMonthlyRequestsReport() {
+        YearMonth firstMonth = YearMonth.from(BenchmarkDataset.FIRST_DAY);
+        return fleetReportService.getMonthlyRequestsReport(null, firstMonth, firstMonth.plusMonths(11));
+    }
+
+    @Benchmark
+    public List<List<DailyAvailabilityReportDTO>> perGarageDailyAvailabilityLoop() {
+        LocalDate lastDay = BenchmarkDataset.FIRST_DAY.plusDays(BenchmarkDataset.DAYS - 1);
+        List<List<DailyAvailabilityReportDTO>> reports = new ArrayList<>();
+        for (ResponseGarageDTO garage : garageService.findAll(null)) {
+            reports.add(garageService.getDailyAvailabilityReport(garage.id(), BenchmarkDataset.FIRST_DAY, lastDay));
+        }
+        return reports;
+    }
+}
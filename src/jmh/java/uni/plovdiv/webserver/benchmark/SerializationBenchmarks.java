@@ -0,0 +1,78 @@
+package uni.plovdiv.webserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uni.plovdiv.webserver.service.CarService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = "-Xmx2g")
+public class SerializationBenchmarks {
+
+    @Param("100")
+    private int garages;
+
+    @Param("500")
+    private int carsPerGarage;
+
+    @Param({"nested", "normalized"})
+    private String shape;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    private Object listing;
+
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (BenchmarkDataset dataset = new BenchmarkDataset(garages, carsPerGarage, 0)) {
+            CarService carService = dataset.getBean(CarService.class);
+            listing = shape.equals("normalized")
+                    ? carService.findAllNormalized(null, null, null, null)
+                    : carService.findAll(null, null, null, null);
+            writer = dataset.getBean(ObjectMapper.class).writer();
+        }
+        System.out.printf("%n%s/%s payload: %d bytes%n", shape, encoding, serialize(new CountingOutputStream()));
+    }
+
+    @Benchmark
+    public void serialize(Blackhole blackhole) throws IOException {
+        blackhole.consume(serialize(new CountingOutputStream()));
+    }
+
+    private long serialize(CountingOutputStream counter) throws IOException {
+        if (encoding.equals("gzip")) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(counter, 8192)) {
+                writer.writeValue(gzip, listing);
+            }
+        } else {
+            writer.writeValue(counter, listing);
+        }
+        return counter.bytes;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int value) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+        }
+    }
+}
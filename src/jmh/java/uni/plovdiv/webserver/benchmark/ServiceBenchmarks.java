@@ -0,0 +1,75 @@
+package uni.plovdiv.webserver.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.DailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.maintenance.MonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.dto.maintenance.ResponseMaintenanceDTO;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.GarageService;
+import uni.plovdiv.webserver.service.MaintenanceService;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmarks {
+
+    @Param("20")
+    private int garages;
+
+    @Param("100")
+    private int carsPerGarage;
+
+    @Param("10")
+    private int maintenancesPerCar;
+
+    private BenchmarkDataset dataset;
+
+    private MaintenanceService maintenanceService;
+
+    private GarageService garageService;
+
+    private CarService carService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = new BenchmarkDataset(garages, carsPerGarage, maintenancesPerCar);
+        maintenanceService = dataset.getBean(MaintenanceService.class);
+        garageService = dataset.getBean(GarageService.class);
+        carService = dataset.getBean(CarService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<MonthlyRequestsReportDTO> monthlyRequestsReport() {
+        YearMonth firstMonth = YearMonth.from(BenchmarkDataset.FIRST_DAY);
+        return maintenanceService.getMonthlyRequestsReport(dataset.randomGarageId(), firstMonth, firstMonth.plusMonths(11));
+    }
+
+    @Benchmark
+    public List<DailyAvailabilityReportDTO> dailyAvailabilityReport() {
+        LocalDate startDate = dataset.randomDay();
+        return garageService.getDailyAvailabilityReport(dataset.randomGarageId(), startDate, startDate.plusDays(89));
+    }
+
+    @Benchmark
+    public List<ResponseCarDTO> carFindAllByGarage() {
+        return carService.findAll(null, dataset.randomGarageId(), null, null);
+    }
+
+    @Benchmark
+    public ResponseMaintenanceDTO createMaintenance() {
+        int garageId = dataset.randomGarageId();
+        return maintenanceService.createMaintenance(new CreateMaintenanceDTO(dataset.randomCarId(garageId), "Benchmark", dataset.randomDay(), garageId));
+    }
+}
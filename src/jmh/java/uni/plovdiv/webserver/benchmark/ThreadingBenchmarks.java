@@ -0,0 +1,103 @@
+package uni.plovdiv.webserver.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class ThreadingBenchmarks {
+
+    private static final int REQUESTS_PER_INVOCATION = 2000;
+
+    private static final int BOOKING_PERCENTAGE = 20;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param("400")
+    private int concurrentClients;
+
+    @Param("50")
+    private int garages;
+
+    @Param("40")
+    private int carsPerGarage;
+
+    @Param("5")
+    private int maintenancesPerCar;
+
+    private BenchmarkDataset dataset;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    private final AtomicInteger failedRequests = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtual threads need JDK 21 or newer, running on " + Runtime.version());
+        }
+        dataset = new BenchmarkDataset(WebApplicationType.SERVLET, garages, carsPerGarage, maintenancesPerCar,
+                "spring.threads.virtual.enabled=" + virtualThreads);
+        httpClient = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + dataset.localPort();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s failed requests with virtualThreads=%s%n", failedRequests.get(), virtualThreads);
+        dataset.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS_PER_INVOCATION)
+    public void mixedReadAndBookingWorkload() throws InterruptedException {
+        Semaphore clients = new Semaphore(concurrentClients);
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[REQUESTS_PER_INVOCATION];
+        for (int i = 0; i < REQUESTS_PER_INVOCATION; i++) {
+            clients.acquire();
+            responses[i] = httpClient.sendAsync(nextRequest(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, exception) -> {
+                        clients.release();
+                        if (exception != null || response.statusCode() >= 500) {
+                            failedRequests.incrementAndGet();
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).exceptionally(exception -> null).join();
+    }
+
+    private HttpRequest nextRequest() {
+        int garageId = dataset.randomGarageId();
+        int dice = ThreadLocalRandom.current().nextInt(100);
+        if (dice < BOOKING_PERCENTAGE) {
+            String body = "{\"carId\":%d,\"serviceType\":\"Benchmark\",\"scheduledDate\":\"%s\",\"garageId\":%d}"
+                    .formatted(dataset.randomCarId(garageId), dataset.randomDay(), garageId);
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/maintenance"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        if (dice < 60) {
+            LocalDate startDate = dataset.randomDay();
+            return HttpRequest.newBuilder(URI.create("%s/garages/dailyAvailabilityReport?garageId=%d&startDate=%s&endDate=%s"
+                    .formatted(baseUrl, garageId, startDate, startDate.plusDays(30)))).build();
+        }
+        return HttpRequest.newBuilder(URI.create("%s/cars?garageId=%d".formatted(baseUrl, garageId))).build();
+    }
+}
@@ -0,0 +1,136 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ShardLoadDriver {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+
+    private final List<String> nodes;
+
+    private final boolean ownerEntry;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final List<Integer> garageIds = new ArrayList<>();
+
+    private final Map<Integer, List<Integer>> carIdsByGarageId = new HashMap<>();
+
+    private ShardLoadDriver(List<String> nodes, boolean ownerEntry) {
+        this.nodes = nodes;
+        this.ownerEntry = ownerEntry;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        ShardLoadDriver driver = new ShardLoadDriver(Arrays.asList(options.get("nodes").split(",")),
+                options.getOrDefault("entry", "any").equals("owner"));
+        driver.seed(Integer.parseInt(options.getOrDefault("garages", "60")), Integer.parseInt(options.getOrDefault("cars-per-garage", "10")));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "32"));
+        driver.run(threads, Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5"))));
+        long[] result = driver.run(threads, Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20"))));
+        double seconds = Long.parseLong(options.getOrDefault("duration", "20"));
+        System.out.printf("shards=%d threads=%d entry=%s operations=%d errors=%d throughput=%.1f ops/s%n",
+                driver.nodes.size(), threads, driver.ownerEntry ? "owner" : "any", result[0], result[1], result[0] / seconds);
+    }
+
+    private void seed(int garages, int carsPerGarage) throws Exception {
+        for (int garage = 0; garage < garages; garage++) {
+            String response = send(nodes.get(garage % nodes.size()), "POST", "/garages",
+                    "{\"name\":\"Garage %d\",\"location\":\"Street %d\",\"city\":\"City %d\",\"capacity\":1000000}"
+                            .formatted(garage, garage, garage % 10)).body();
+            garageIds.add(parseId(response));
+        }
+        for (Integer garageId : garageIds) {
+            List<Integer> carIds = new ArrayList<>();
+            for (int car = 0; car < carsPerGarage; car++) {
+                String response = send(entryNode(garageId), "POST", "/cars",
+                        "{\"make\":\"Make %d\",\"model\":\"Model\",\"productionYear\":2015,\"licensePlate\":\"PB%04d%02d\",\"garageIds\":[%d]}"
+                                .formatted(car % 20, garageId, car, garageId)).body();
+                carIds.add(parseId(response));
+            }
+            carIdsByGarageId.put(garageId, carIds);
+        }
+    }
+
+    private long[] run(int threads, Duration duration) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> workers = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            Thread worker = new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        int status = operation();
+                        (status < 400 ? operations : errors).increment();
+                    } catch (Exception exception) {
+                        errors.increment();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new long[]{operations.sum(), errors.sum()};
+    }
+
+    private int operation() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer garageId = garageIds.get(random.nextInt(garageIds.size()));
+        LocalDate day = FIRST_DAY.plusDays(random.nextInt(365));
+        if (random.nextInt(5) == 0) {
+            List<Integer> carIds = carIdsByGarageId.get(garageId);
+            return send(entryNode(garageId), "POST", "/maintenance",
+                    "{\"carId\":%d,\"serviceType\":\"Load\",\"scheduledDate\":\"%s\",\"garageId\":%d}"
+                            .formatted(carIds.get(random.nextInt(carIds.size())), day, garageId)).statusCode();
+        }
+        return send(entryNode(garageId), "GET", "/maintenance?garageId=%d&startDate=%s&endDate=%s"
+                .formatted(garageId, day, day.plusDays(30)), null).statusCode();
+    }
+
+    private String entryNode(int garageId) {
+        return ownerEntry
+                ? nodes.get(Math.floorMod(garageId - 1, nodes.size()))
+                : nodes.get(ThreadLocalRandom.current().nextInt(nodes.size()));
+    }
+
+    private HttpResponse<String> send(String node, String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(node + path))
+                .header("Content-Type", "application/json")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int parseId(String response) {
+        Matcher matcher = ID.matcher(response);
+        if (!matcher.find()) {
+            throw new IllegalStateException("unexpected response " + response);
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+}
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Usage: src/jmh/sharding/shard-harness.sh [shard counts...]
+# Starts one application process per shard (each with its own in-memory H2),
+# seeds them through the routing layer and measures a read/booking mix.
+# Environment: BASE_PORT, THREADS, DURATION, WARMUP, GARAGES, CARS_PER_GARAGE, ENTRY (any|owner), HEAP.
+set -euo pipefail
+
+cd "$(dirname "$0")/../../.."
+SHARD_COUNTS=("${@:-1 2 4}")
+BASE_PORT=${BASE_PORT:-8091}
+THREADS=${THREADS:-32}
+DURATION=${DURATION:-20}
+WARMUP=${WARMUP:-5}
+GARAGES=${GARAGES:-60}
+CARS_PER_GARAGE=${CARS_PER_GARAGE:-10}
+ENTRY=${ENTRY:-any}
+HEAP=${HEAP:-384m}
+JAR=$(ls target/webserver-*.jar 2>/dev/null | head -1 || true)
+
+if [ -z "$JAR" ]; then
+    mvn -B -q -DskipTests package
+    JAR=$(ls target/webserver-*.jar | head -1)
+fi
+
+PIDS=()
+stop_shards() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+    for pid in "${PIDS[@]}"; do
+        wait "$pid" 2>/dev/null || true
+    done
+    PIDS=()
+}
+trap stop_shards EXIT
+
+for shards in ${SHARD_COUNTS[*]}; do
+    nodes=""
+    for ((index = 0; index < shards; index++)); do
+        nodes+="${nodes:+,}http://localhost:$((BASE_PORT + index))"
+    done
+
+    for ((index = 0; index < shards; index++)); do
+        java -Xmx"$HEAP" -jar "$JAR" \
+            --spring.profiles.active=sharded \
+            --server.port=$((BASE_PORT + index)) \
+            --sharding.shard-count="$shards" \
+            --sharding.shard-index="$index" \
+            --sharding.nodes="$nodes" \
+            --logging.level.root=WARN > "target/shard-$shards-$index.log" 2>&1 &
+        PIDS+=($!)
+    done
+
+    for ((index = 0; index < shards; index++)); do
+        until curl -sf "http://localhost:$((BASE_PORT + index))/actuator/health" > /dev/null; do
+            sleep 1
+        done
+    done
+
+    java src/jmh/sharding/ShardLoadDriver.java --nodes="$nodes" --threads="$THREADS" --duration="$DURATION" \
+        --warmup="$WARMUP" --garages="$GARAGES" --cars-per-garage="$CARS_PER_GARAGE" --entry="$ENTRY"
+    stop_shards
+done
@@ -0,0 +1,31 @@
+package uni.plovdiv.webserver.configuration;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+public class CacheControlInterceptor implements HandlerInterceptor {
+
+    private final Map<String, String> policiesByRoute;
+
+    public CacheControlInterceptor(Map<String, String> policiesByRoute) {
+        this.policiesByRoute = policiesByRoute;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        String policy = policiesByRoute.get((String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        if (policy != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, policy);
+        }
+        return true;
+    }
+}
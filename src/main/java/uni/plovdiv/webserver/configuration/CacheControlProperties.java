@@ -0,0 +1,13 @@
+package uni.plovdiv.webserver.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+@ConfigurationProperties("http.cache-control")
+public record CacheControlProperties(Map<String, String> routes) {
+
+    public CacheControlProperties {
+        routes = routes != null ? Map.copyOf(routes) : Map.of();
+    }
+}
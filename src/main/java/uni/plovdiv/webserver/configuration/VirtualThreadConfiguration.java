@@ -0,0 +1,33 @@
+package uni.plovdiv.webserver.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<RequestAdmissionFilter> requestAdmissionFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size}") int connectionPoolSize,
+            @Value("${concurrency.requests-per-connection}") int requestsPerConnection,
+            @Value("${concurrency.admission-timeout}") Duration admissionTimeout,
+            ObjectMapper objectMapper) {
+        int maxInFlightRequests = connectionPoolSize * requestsPerConnection;
+        log.info("Virtual threads enabled: admitting {} in-flight requests for {} pooled connections", maxInFlightRequests, connectionPoolSize);
+        FilterRegistrationBean<RequestAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new RequestAdmissionFilter(maxInFlightRequests, admissionTimeout, objectMapper, Set.of("/maintenance/events")));
+        registration.addUrlPatterns("/cars/*", "/garages/*", "/maintenance/*", "/cars", "/garages", "/maintenance");
+        return registration;
+    }
+}
@@ -1,11 +1,15 @@
 package uni.plovdiv.webserver.configuration;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import uni.plovdiv.webserver.idempotency.IdempotencyFilter;
 
 @Configuration
+@EnableConfigurationProperties(CacheControlProperties.class)
 public class WebConfiguration {
 
     @Bean
@@ -15,7 +19,18 @@ public class WebConfiguration {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**")
                         .allowedOrigins("http://localhost:3000")
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
+                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                        .exposedHeaders(IdempotencyFilter.IDEMPOTENT_REPLAYED);
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer cacheControlConfigurer(CacheControlProperties cacheControlProperties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new CacheControlInterceptor(cacheControlProperties.routes()));
             }
         };
     }
@@ -1,12 +1,23 @@
 package uni.plovdiv.webserver.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import uni.plovdiv.webserver.dto.bulk.BulkFormat;
+import uni.plovdiv.webserver.dto.car.CarListingDTO;
+import uni.plovdiv.webserver.dto.car.CarSearchPageDTO;
 import uni.plovdiv.webserver.dto.car.CreateCarDTO;
 import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
 import uni.plovdiv.webserver.dto.car.UpdateCarDTO;
+import uni.plovdiv.webserver.service.BulkExportService;
+import uni.plovdiv.webserver.service.BulkImportService;
 import uni.plovdiv.webserver.service.CarService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -16,6 +27,10 @@ public class CarController {
 
     private final CarService carService;
 
+    private final BulkImportService bulkImportService;
+
+    private final BulkExportService bulkExportService;
+
     @GetMapping
     public List<ResponseCarDTO> findAll(@RequestParam(required = false) String carMake, @RequestParam(required = false) Integer garageId,
                                         @RequestParam(required = false) Integer fromYear, @RequestParam(required = false) Integer toYear
@@ -23,11 +38,40 @@ public class CarController {
         return carService.findAll(carMake, garageId, fromYear, toYear);
     }
 
+    @GetMapping(params = "shape=normalized")
+    public CarListingDTO findAllNormalized(@RequestParam(required = false) String carMake, @RequestParam(required = false) Integer garageId,
+                                           @RequestParam(required = false) Integer fromYear, @RequestParam(required = false) Integer toYear
+    ) {
+        return carService.findAllNormalized(carMake, garageId, fromYear, toYear);
+    }
+
+    @GetMapping("/search")
+    public CarSearchPageDTO search(@RequestParam String q, @RequestParam(defaultValue = "0") int page,
+                                   @RequestParam(defaultValue = "20") int size) {
+        return carService.search(q, page, size);
+    }
+
     @GetMapping("/{id}")
-    public ResponseCarDTO findById(@PathVariable Integer id) {
+    public ResponseCarDTO findById(@PathVariable Integer id, WebRequest request) {
+        if (request.checkNotModified(carService.getETag(id))) {
+            return null;
+        }
         return carService.findById(id);
     }
 
+    @PostMapping(value = "/import", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importCars(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType, InputStream body, HttpServletResponse response) throws IOException {
+        BulkFormat format = BulkFormat.fromContentType(contentType);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkImportService.importCars(format, body, response.getOutputStream());
+    }
+
+    @GetMapping("/export")
+    public void exportCars(@RequestParam(defaultValue = "NDJSON") BulkFormat format, HttpServletResponse response) throws IOException {
+        response.setContentType(format.getMediaType());
+        bulkExportService.exportCars(format, response.getOutputStream());
+    }
+
     @PostMapping
     public ResponseCarDTO createCar(@RequestBody CreateCarDTO createCarDTO) {
         return carService.createCar(createCarDTO);
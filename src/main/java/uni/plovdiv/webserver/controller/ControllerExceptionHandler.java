@@ -1,5 +1,6 @@
 package uni.plovdiv.webserver.controller;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -7,6 +8,8 @@ import uni.plovdiv.webserver.dto.HttpErrorResponse;
 import uni.plovdiv.webserver.exception.RequestValidationException;
 import uni.plovdiv.webserver.exception.ResourceDoesNotExistException;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.springframework.http.HttpStatus.*;
 
 @ControllerAdvice
@@ -22,6 +25,16 @@ public class ControllerExceptionHandler {
         return new ResponseEntity<>(new HttpErrorResponse(requestValidationException.getMessage()), BAD_REQUEST);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<HttpErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException optimisticLockingFailureException) {
+        return new ResponseEntity<>(new HttpErrorResponse("resource was modified concurrently, retry the request"), CONFLICT);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<HttpErrorResponse> handleRejectedExecutionException(RejectedExecutionException rejectedExecutionException) {
+        return new ResponseEntity<>(new HttpErrorResponse("report queue is full, retry later"), SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<HttpErrorResponse> handleException(Exception exception) {
         return new ResponseEntity<>(new HttpErrorResponse(exception.getMessage()), INTERNAL_SERVER_ERROR);
@@ -0,0 +1,39 @@
+package uni.plovdiv.webserver.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uni.plovdiv.webserver.dto.garage.GarageDailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.maintenance.GarageMonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.service.FleetReportService;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/fleet")
+@RequiredArgsConstructor
+public class FleetReportController {
+
+    private final FleetReportService fleetReportService;
+
+    @GetMapping("/dailyAvailabilityReport")
+    public List<GarageDailyAvailabilityReportDTO> getDailyAvailabilityReport(
+            @RequestParam(required = false) String city,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        return fleetReportService.getDailyAvailabilityReport(city, startDate, endDate);
+    }
+
+    @GetMapping("/monthlyRequestsReport")
+    public List<GarageMonthlyRequestsReportDTO> getMonthlyRequestsReport(
+            @RequestParam(required = false) String city,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth startMonth,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth endMonth) {
+        return fleetReportService.getMonthlyRequestsReport(city, startMonth, endMonth);
+    }
+}
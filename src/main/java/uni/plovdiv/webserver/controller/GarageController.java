@@ -1,13 +1,27 @@
 package uni.plovdiv.webserver.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import uni.plovdiv.webserver.dto.bulk.BulkFormat;
+import uni.plovdiv.webserver.dto.garage.AvailableSlotDTO;
 import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
 import uni.plovdiv.webserver.dto.garage.DailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.GarageCacheStatsDTO;
 import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
 import uni.plovdiv.webserver.dto.garage.UpdateGarageDTO;
+import uni.plovdiv.webserver.dto.report.ReportJobDTO;
+import uni.plovdiv.webserver.service.BulkExportService;
+import uni.plovdiv.webserver.service.BulkImportService;
 import uni.plovdiv.webserver.service.GarageService;
+import uni.plovdiv.webserver.service.ReportJobService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -18,16 +32,33 @@ public class GarageController {
 
     private final GarageService garageService;
 
+    private final BulkImportService bulkImportService;
+
+    private final BulkExportService bulkExportService;
+
+    private final ReportJobService reportJobService;
+
     @GetMapping
-    public List<ResponseGarageDTO> findAll(@RequestParam(required = false) String city) {
+    public List<ResponseGarageDTO> findAll(@RequestParam(required = false) String city, WebRequest request) {
+        if (request.checkNotModified(garageService.getListETag())) {
+            return null;
+        }
         return garageService.findAll(city);
     }
 
     @GetMapping("/{id}")
-    public ResponseGarageDTO findById(@PathVariable Integer id) {
+    public ResponseGarageDTO findById(@PathVariable Integer id, WebRequest request) {
+        if (request.checkNotModified(garageService.getETag(id))) {
+            return null;
+        }
         return garageService.findById(id);
     }
 
+    @GetMapping("/cacheStats")
+    public List<GarageCacheStatsDTO> getCacheStats() {
+        return garageService.getCacheStats();
+    }
+
     @GetMapping("/dailyAvailabilityReport")
     public List<DailyAvailabilityReportDTO> getDailyAvailabilityReport(
             @RequestParam Integer garageId,
@@ -36,6 +67,37 @@ public class GarageController {
         return garageService.getDailyAvailabilityReport(garageId, startDate, endDate);
     }
 
+    @PostMapping("/dailyAvailabilityReport/jobs")
+    public ResponseEntity<ReportJobDTO> submitDailyAvailabilityReport(
+            @RequestParam Integer garageId,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        return ReportJobController.accepted(reportJobService.submitDailyAvailabilityReport(garageId, startDate, endDate));
+    }
+
+    @GetMapping("/earliestAvailableSlots")
+    public List<AvailableSlotDTO> getEarliestAvailableSlots(
+            @RequestParam String city,
+            @RequestParam Integer carId,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate,
+            @RequestParam(defaultValue = "10") int limit) {
+        return garageService.findEarliestAvailableSlots(city, carId, startDate, endDate, limit);
+    }
+
+    @PostMapping(value = "/import", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importGarages(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType, InputStream body, HttpServletResponse response) throws IOException {
+        BulkFormat format = BulkFormat.fromContentType(contentType);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkImportService.importGarages(format, body, response.getOutputStream());
+    }
+
+    @GetMapping("/export")
+    public void exportGarages(@RequestParam(defaultValue = "NDJSON") BulkFormat format, HttpServletResponse response) throws IOException {
+        response.setContentType(format.getMediaType());
+        bulkExportService.exportGarages(format, response.getOutputStream());
+    }
+
     @PostMapping
     public ResponseGarageDTO createGarage(@RequestBody CreateGarageDTO createGarageDTO) {
         return garageService.createGarage(createGarageDTO);
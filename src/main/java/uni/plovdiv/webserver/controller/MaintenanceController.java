@@ -1,18 +1,43 @@
 package uni.plovdiv.webserver.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uni.plovdiv.webserver.dto.bulk.BulkFormat;
+import uni.plovdiv.webserver.dto.maintenance.BatchMaintenanceResponseDTO;
+import uni.plovdiv.webserver.dto.maintenance.BatchMode;
 import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.maintenance.GarageMonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.dto.maintenance.MaintenancePageDTO;
 import uni.plovdiv.webserver.dto.maintenance.MonthlyRequestsReportDTO;
 import uni.plovdiv.webserver.dto.maintenance.ResponseMaintenanceDTO;
 import uni.plovdiv.webserver.dto.maintenance.UpdateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.report.ReportJobDTO;
+import uni.plovdiv.webserver.service.BulkExportService;
+import uni.plovdiv.webserver.service.BulkImportService;
+import uni.plovdiv.webserver.service.MaintenanceEventStream;
 import uni.plovdiv.webserver.service.MaintenanceService;
+import uni.plovdiv.webserver.service.ReportJobService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.OK;
+
 @RestController
 @RequestMapping("/maintenance")
 @RequiredArgsConstructor
@@ -20,8 +45,21 @@ public class MaintenanceController {
 
     private final MaintenanceService maintenanceService;
 
+    private final BulkImportService bulkImportService;
+
+    private final BulkExportService bulkExportService;
+
+    private final MaintenanceEventStream maintenanceEventStream;
+
+    private final ReportJobService reportJobService;
+
+    private final ObjectMapper objectMapper;
+
     @GetMapping("/{id}")
-    public ResponseMaintenanceDTO findById(@PathVariable Integer id) {
+    public ResponseMaintenanceDTO findById(@PathVariable Integer id, WebRequest request) {
+        if (request.checkNotModified(maintenanceService.getETag(id))) {
+            return null;
+        }
         return maintenanceService.findById(id);
     }
 
@@ -35,6 +73,46 @@ public class MaintenanceController {
         return maintenanceService.findAll(carId, garageId, startDate, endDate);
     }
 
+    @GetMapping("/page")
+    public MaintenancePageDTO findPage(
+            @RequestParam(required = false) Integer carId,
+            @RequestParam(required = false) Integer garageId,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") Integer limit
+    ) {
+        return maintenanceService.findPage(carId, garageId, startDate, endDate, cursor, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamAll(
+            @RequestParam(required = false) Integer carId,
+            @RequestParam(required = false) Integer garageId,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate
+    ) {
+        return outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                maintenanceService.streamAll(carId, garageId, startDate, endDate, maintenance -> {
+                    try {
+                        writer.write(maintenance);
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+            }
+        };
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToEvents(
+            @RequestParam(required = false) Integer garageId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return maintenanceEventStream.subscribe(garageId, lastEventId);
+    }
+
     @GetMapping("/monthlyRequestsReport")
     public List<MonthlyRequestsReportDTO> getMonthlyRequestsReport(
             @RequestParam Integer garageId,
@@ -43,11 +121,48 @@ public class MaintenanceController {
         return maintenanceService.getMonthlyRequestsReport(garageId, startMonth, endMonth);
     }
 
+    @PostMapping("/monthlyRequestsReport/jobs")
+    public ResponseEntity<ReportJobDTO> submitMonthlyRequestsReport(
+            @RequestParam Integer garageId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth startMonth,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth endMonth) {
+        return ReportJobController.accepted(reportJobService.submitMonthlyRequestsReport(garageId, startMonth, endMonth));
+    }
+
+    @GetMapping("/monthlyRequestsReportByCity")
+    public List<GarageMonthlyRequestsReportDTO> getMonthlyRequestsReportByCity(
+            @RequestParam String city,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth startMonth,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth endMonth) {
+        return maintenanceService.getMonthlyRequestsReportByCity(city, startMonth, endMonth);
+    }
+
+    @PostMapping(value = "/import", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importMaintenances(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType, InputStream body, HttpServletResponse response) throws IOException {
+        BulkFormat format = BulkFormat.fromContentType(contentType);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkImportService.importMaintenances(format, body, response.getOutputStream());
+    }
+
+    @GetMapping("/export")
+    public void exportMaintenances(@RequestParam(defaultValue = "NDJSON") BulkFormat format, HttpServletResponse response) throws IOException {
+        response.setContentType(format.getMediaType());
+        bulkExportService.exportMaintenances(format, response.getOutputStream());
+    }
+
     @PostMapping
     public ResponseMaintenanceDTO createMaintenance(@RequestBody CreateMaintenanceDTO createMaintenanceDTO) {
         return maintenanceService.createMaintenance(createMaintenanceDTO);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchMaintenanceResponseDTO> createMaintenances(
+            @RequestBody List<CreateMaintenanceDTO> createMaintenanceDTOs,
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchMode mode) {
+        BatchMaintenanceResponseDTO response = maintenanceService.createMaintenances(createMaintenanceDTOs, mode);
+        return new ResponseEntity<>(response, response.applied() ? OK : BAD_REQUEST);
+    }
+
     @PutMapping("/{id}")
     public ResponseMaintenanceDTO updateMaintenance(@PathVariable Integer id, @RequestBody UpdateMaintenanceDTO updateMaintenanceDTO) {
         return maintenanceService.updateMaintenance(id, updateMaintenanceDTO);
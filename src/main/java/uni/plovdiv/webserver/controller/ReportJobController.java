@@ -0,0 +1,35 @@
+package uni.plovdiv.webserver.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uni.plovdiv.webserver.dto.report.ReportJobDTO;
+import uni.plovdiv.webserver.dto.report.ReportJobStatus;
+import uni.plovdiv.webserver.service.ReportJobService;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/reports/jobs")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ReportJobDTO> findById(@PathVariable String id, @RequestParam(defaultValue = "0") int waitSeconds) {
+        return reportJobService.awaitById(id, waitSeconds);
+    }
+
+    static ResponseEntity<ReportJobDTO> accepted(ReportJobDTO job) {
+        if (job.status() == ReportJobStatus.COMPLETED) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.accepted().location(URI.create("/reports/jobs/" + job.id())).body(job);
+    }
+}
@@ -0,0 +1,28 @@
+package uni.plovdiv.webserver.dto.bulk;
+
+import uni.plovdiv.webserver.exception.RequestValidationException;
+
+import java.util.Arrays;
+
+public enum BulkFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    BulkFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static BulkFormat fromContentType(String contentType) {
+        return Arrays.stream(values())
+                .filter(format -> contentType != null && contentType.toLowerCase().startsWith(format.mediaType))
+                .findFirst()
+                .orElseThrow(() -> new RequestValidationException("unsupported content type %s, expected %s or %s"
+                        .formatted(contentType, CSV.mediaType, NDJSON.mediaType)));
+    }
+}
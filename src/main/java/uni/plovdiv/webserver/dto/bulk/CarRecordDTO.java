@@ -0,0 +1,13 @@
+package uni.plovdiv.webserver.dto.bulk;
+
+import java.util.List;
+
+public record CarRecordDTO(
+        Integer id,
+        String make,
+        String model,
+        Integer productionYear,
+        String licensePlate,
+        List<Integer> garageIds
+) {
+}
@@ -0,0 +1,7 @@
+package uni.plovdiv.webserver.dto.bulk;
+
+public record ImportErrorDTO(
+        Long record,
+        String error
+) {
+}
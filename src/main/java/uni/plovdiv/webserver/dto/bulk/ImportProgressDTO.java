@@ -0,0 +1,9 @@
+package uni.plovdiv.webserver.dto.bulk;
+
+public record ImportProgressDTO(
+        Long processed,
+        Long imported,
+        Long failed,
+        Boolean completed
+) {
+}
@@ -0,0 +1,12 @@
+package uni.plovdiv.webserver.dto.bulk;
+
+import java.time.LocalDate;
+
+public record MaintenanceRecordDTO(
+        Integer id,
+        Integer carId,
+        String serviceType,
+        LocalDate scheduledDate,
+        Integer garageId
+) {
+}
@@ -0,0 +1,11 @@
+package uni.plovdiv.webserver.dto.car;
+
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+
+import java.util.List;
+
+public record CarListingDTO(
+        List<CarSummaryDTO> cars,
+        List<ResponseGarageDTO> garages
+) {
+}
@@ -0,0 +1,11 @@
+package uni.plovdiv.webserver.dto.car;
+
+import java.util.List;
+
+public record CarSearchPageDTO(
+        List<ResponseCarDTO> items,
+        int page,
+        int size,
+        int total
+) {
+}
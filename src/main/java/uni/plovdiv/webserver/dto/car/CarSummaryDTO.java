@@ -0,0 +1,13 @@
+package uni.plovdiv.webserver.dto.car;
+
+import java.util.List;
+
+public record CarSummaryDTO(
+        Integer id,
+        String make,
+        String model,
+        Integer productionYear,
+        String licensePlate,
+        List<Integer> garageIds
+) {
+}
@@ -0,0 +1,11 @@
+package uni.plovdiv.webserver.dto.garage;
+
+import java.time.LocalDate;
+
+public record AvailableSlotDTO(
+        Integer garageId,
+        String garageName,
+        LocalDate date,
+        Integer availableCapacity
+) {
+}
@@ -0,0 +1,10 @@
+package uni.plovdiv.webserver.dto.garage;
+
+public record GarageCacheStatsDTO(
+        String cache,
+        Long size,
+        Long hits,
+        Long misses,
+        Long evictions
+) {
+}
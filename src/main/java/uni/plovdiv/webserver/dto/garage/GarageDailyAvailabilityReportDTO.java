@@ -0,0 +1,10 @@
+package uni.plovdiv.webserver.dto.garage;
+
+import java.util.List;
+
+public record GarageDailyAvailabilityReportDTO(
+        Integer garageId,
+        String garageName,
+        List<DailyAvailabilityReportDTO> report
+) {
+}
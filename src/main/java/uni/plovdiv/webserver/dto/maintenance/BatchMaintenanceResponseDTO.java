@@ -0,0 +1,12 @@
+package uni.plovdiv.webserver.dto.maintenance;
+
+import java.util.List;
+
+public record BatchMaintenanceResponseDTO(
+        BatchMode mode,
+        Boolean applied,
+        Integer created,
+        Integer failed,
+        List<BatchMaintenanceResultDTO> results
+) {
+}
@@ -0,0 +1,9 @@
+package uni.plovdiv.webserver.dto.maintenance;
+
+public record BatchMaintenanceResultDTO(
+        Integer index,
+        Boolean success,
+        ResponseMaintenanceDTO maintenance,
+        String error
+) {
+}
@@ -0,0 +1,6 @@
+package uni.plovdiv.webserver.dto.maintenance;
+
+public enum BatchMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
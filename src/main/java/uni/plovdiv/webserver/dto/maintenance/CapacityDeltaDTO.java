@@ -0,0 +1,9 @@
+package uni.plovdiv.webserver.dto.maintenance;
+
+import java.time.LocalDate;
+
+public record CapacityDeltaDTO(
+        LocalDate scheduledDate,
+        Integer availableCapacityDelta
+) {
+}
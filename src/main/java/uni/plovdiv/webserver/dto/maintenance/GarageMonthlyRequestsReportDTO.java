@@ -0,0 +1,10 @@
+package uni.plovdiv.webserver.dto.maintenance;
+
+import java.util.List;
+
+public record GarageMonthlyRequestsReportDTO(
+        Integer garageId,
+        String garageName,
+        List<MonthlyRequestsReportDTO> report
+) {
+}
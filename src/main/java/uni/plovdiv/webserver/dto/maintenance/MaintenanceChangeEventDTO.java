@@ -0,0 +1,14 @@
+package uni.plovdiv.webserver.dto.maintenance;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MaintenanceChangeEventDTO(
+        Long sequence,
+        MaintenanceChangeType type,
+        Integer garageId,
+        List<Integer> maintenanceIds,
+        List<CapacityDeltaDTO> capacityDeltas,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,7 @@
+package uni.plovdiv.webserver.dto.maintenance;
+
+public enum MaintenanceChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
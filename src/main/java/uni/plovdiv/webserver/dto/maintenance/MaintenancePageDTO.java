@@ -0,0 +1,9 @@
+package uni.plovdiv.webserver.dto.maintenance;
+
+import java.util.List;
+
+public record MaintenancePageDTO(
+        List<ResponseMaintenanceDTO> items,
+        String nextCursor
+) {
+}
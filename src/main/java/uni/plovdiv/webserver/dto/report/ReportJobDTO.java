@@ -0,0 +1,16 @@
+package uni.plovdiv.webserver.dto.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ReportJobDTO(
+        String id,
+        ReportType type,
+        Integer garageId,
+        LocalDate startDate,
+        LocalDate endDate,
+        ReportJobStatus status,
+        List<?> result,
+        String error
+) {
+}
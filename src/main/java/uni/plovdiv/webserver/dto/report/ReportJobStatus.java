@@ -0,0 +1,8 @@
+package uni.plovdiv.webserver.dto.report;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package uni.plovdiv.webserver.dto.report;
+
+public enum ReportType {
+    DAILY_AVAILABILITY,
+    MONTHLY_REQUESTS
+}
@@ -0,0 +1,8 @@
+package uni.plovdiv.webserver.exception;
+
+public class ReportJobDoesNotExistException extends ResourceDoesNotExistException {
+
+    public ReportJobDoesNotExistException(String id) {
+        super("Missing report job with ID - %s".formatted(id));
+    }
+}
@@ -0,0 +1,117 @@
+package uni.plovdiv.webserver.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import uni.plovdiv.webserver.configuration.CachedBodyRequest;
+import uni.plovdiv.webserver.dto.HttpErrorResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY) == null
+                || !WRITE_METHODS.contains(request.getMethod())
+                || request.getRequestURI().endsWith("/import");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, BAD_REQUEST, "%s must be between 1 and %s characters".formatted(IDEMPOTENCY_KEY, MAX_KEY_LENGTH));
+            return;
+        }
+        if (!idempotencyStore.tryAcquire(key)) {
+            writeError(response, CONFLICT, "a request with %s %s is still being processed".formatted(IDEMPOTENCY_KEY, key));
+            return;
+        }
+        try {
+            CachedBodyRequest cachedRequest = CachedBodyRequest.of(request);
+            String requestHash = hash(cachedRequest);
+            Optional<StoredResponse> storedResponse = idempotencyStore.find(key);
+            if (storedResponse.isPresent()) {
+                replay(storedResponse.get(), requestHash, key, response);
+                return;
+            }
+
+            ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(cachedRequest, cachedResponse);
+            if (!HttpStatus.valueOf(cachedResponse.getStatus()).is5xxServerError()) {
+                idempotencyStore.save(key, new StoredResponse(requestHash, cachedResponse.getStatus(),
+                        cachedResponse.getContentType(), cachedResponse.getContentAsByteArray(), Instant.now()));
+            }
+            cachedResponse.copyBodyToResponse();
+        } finally {
+            idempotencyStore.release(key);
+        }
+    }
+
+    private void replay(StoredResponse storedResponse, String requestHash, String key, HttpServletResponse response) throws IOException {
+        if (!storedResponse.requestHash().equals(requestHash)) {
+            writeError(response, UNPROCESSABLE_ENTITY, "%s %s was already used for a different request".formatted(IDEMPOTENCY_KEY, key));
+            return;
+        }
+        response.setStatus(storedResponse.status());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (storedResponse.contentType() != null) {
+            response.setContentType(storedResponse.contentType());
+        }
+        response.setContentLength(storedResponse.body().length);
+        response.getOutputStream().write(storedResponse.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new HttpErrorResponse(message));
+    }
+
+    private static String hash(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.getBody());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
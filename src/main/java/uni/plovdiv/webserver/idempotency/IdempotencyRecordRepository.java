@@ -0,0 +1,53 @@
+package uni.plovdiv.webserver.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRecordRepository {
+
+    private static final String SELECT_RECORD = """
+            SELECT request_hash, status, content_type, body, created_at
+            FROM idempotency_record
+            WHERE idempotency_key = ?
+            AND created_at >= ?
+            """;
+
+    private static final String UPSERT_RECORD = """
+            MERGE INTO idempotency_record (idempotency_key, request_hash, status, content_type, body, created_at)
+            KEY (idempotency_key)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String DELETE_EXPIRED_RECORDS = """
+            DELETE FROM idempotency_record
+            WHERE created_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<StoredResponse> find(String key, Instant createdAfter) {
+        return jdbcTemplate.query(SELECT_RECORD, (resultSet, rowNum) -> new StoredResponse(
+                        resultSet.getString("request_hash"),
+                        resultSet.getInt("status"),
+                        resultSet.getString("content_type"),
+                        resultSet.getBytes("body"),
+                        resultSet.getTimestamp("created_at").toInstant()),
+                key, Timestamp.from(createdAfter)).stream().findFirst();
+    }
+
+    public void save(String key, StoredResponse response) {
+        jdbcTemplate.update(UPSERT_RECORD, key, response.requestHash(), response.status(), response.contentType(),
+                response.body(), Timestamp.from(response.createdAt()));
+    }
+
+    public int deleteCreatedBefore(Instant createdBefore) {
+        return jdbcTemplate.update(DELETE_EXPIRED_RECORDS, Timestamp.from(createdBefore));
+    }
+}
@@ -0,0 +1,75 @@
+package uni.plovdiv.webserver.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository recordRepository;
+
+    private final boolean persistenceEnabled;
+
+    private final Duration expireAfterWrite;
+
+    private final Cache<String, StoredResponse> responses;
+
+    private final Map<String, Boolean> inFlightKeys = new ConcurrentHashMap<>();
+
+    private final AtomicReference<Instant> nextPurge = new AtomicReference<>(Instant.EPOCH);
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            @Value("${idempotency.persistence.enabled}") boolean persistenceEnabled,
+                            @Value("${idempotency.cache.maximum-size}") long maximumSize,
+                            @Value("${idempotency.expire-after-write}") Duration expireAfterWrite) {
+        this.recordRepository = recordRepository;
+        this.persistenceEnabled = persistenceEnabled;
+        this.expireAfterWrite = expireAfterWrite;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public boolean tryAcquire(String key) {
+        return inFlightKeys.putIfAbsent(key, Boolean.TRUE) == null;
+    }
+
+    public void release(String key) {
+        inFlightKeys.remove(key);
+    }
+
+    public Optional<StoredResponse> find(String key) {
+        StoredResponse response = responses.getIfPresent(key);
+        if (response != null || !persistenceEnabled) {
+            return Optional.ofNullable(response);
+        }
+        Optional<StoredResponse> persistedResponse = recordRepository.find(key, Instant.now().minus(expireAfterWrite));
+        persistedResponse.ifPresent(storedResponse -> responses.put(key, storedResponse));
+        return persistedResponse;
+    }
+
+    public void save(String key, StoredResponse response) {
+        responses.put(key, response);
+        if (persistenceEnabled) {
+            recordRepository.save(key, response);
+            purgeExpiredRecords(response.createdAt());
+        }
+    }
+
+    private void purgeExpiredRecords(Instant now) {
+        Instant scheduledPurge = nextPurge.get();
+        if (now.isAfter(scheduledPurge) && nextPurge.compareAndSet(scheduledPurge, now.plus(expireAfterWrite.dividedBy(10)))) {
+            recordRepository.deleteCreatedBefore(now.minus(expireAfterWrite));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package uni.plovdiv.webserver.idempotency;
+
+import java.time.Instant;
+
+public record StoredResponse(
+        String requestHash,
+        int status,
+        String contentType,
+        byte[] body,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,110 @@
+package uni.plovdiv.webserver.instrumentation;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private static final Set<String> EXECUTIONS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final Set<String> RESULT_SET_FACTORIES = Set.of("executeQuery", "getResultSet", "getGeneratedKeys");
+
+    private final SqlStatementLog sqlStatementLog;
+
+    public InstrumentedDataSource(DataSource targetDataSource, SqlStatementLog sqlStatementLog) {
+        super(targetDataSource);
+        this.sqlStatementLog = sqlStatementLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    private Connection instrument(Connection connection) {
+        if (!RequestQueryStats.isActive() && !sqlStatementLog.isEnabled()) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, this::handleConnection);
+    }
+
+    private Object handleConnection(Object connection, Method method, Object[] args) throws Throwable {
+        Object result = invoke(connection, method, args);
+        if (!STATEMENT_FACTORIES.contains(method.getName())) {
+            return result;
+        }
+        if (args != null && args.length > 0 && args[0] instanceof String sql) {
+            sqlStatementLog.statementPrepared(sql);
+        }
+        return switch (method.getName()) {
+            case "prepareCall" -> proxy(CallableStatement.class, result, this::handleStatement);
+            case "prepareStatement" -> proxy(PreparedStatement.class, result, this::handleStatement);
+            default -> proxy(Statement.class, result, this::handleStatement);
+        };
+    }
+
+    private Object handleStatement(Object statement, Method method, Object[] args) throws Throwable {
+        if (EXECUTIONS.contains(method.getName())) {
+            RequestQueryStats.statementExecuted();
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                sqlStatementLog.statementPrepared(sql);
+            }
+        }
+        Object result = invoke(statement, method, args);
+        if (result instanceof ResultSet && RESULT_SET_FACTORIES.contains(method.getName()) && RequestQueryStats.isActive()) {
+            return proxy(ResultSet.class, result, this::handleResultSet);
+        }
+        return result;
+    }
+
+    private Object handleResultSet(Object resultSet, Method method, Object[] args) throws Throwable {
+        Object result = invoke(resultSet, method, args);
+        if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+            RequestQueryStats.rowFetched();
+        }
+        return result;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if ("unwrap".equals(method.getName()) || "isWrapperFor".equals(method.getName())) {
+                return invoke(target, method, args);
+            }
+            return handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,29 @@
+package uni.plovdiv.webserver.instrumentation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "sqllog")
+@RequiredArgsConstructor
+public class SqlLogEndpoint {
+
+    private final SqlStatementLog sqlStatementLog;
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        return Map.of("enabled", sqlStatementLog.isEnabled(), "sampleRate", sqlStatementLog.getSampleRate());
+    }
+
+    @WriteOperation
+    public Map<String, Object> configure(boolean enabled, @Nullable Double sampleRate) {
+        sqlStatementLog.configure(enabled, sampleRate != null ? sampleRate : sqlStatementLog.getSampleRate());
+        return settings();
+    }
+}
@@ -0,0 +1,40 @@
+package uni.plovdiv.webserver.instrumentation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Component
+public class SqlStatementLog {
+
+    private volatile boolean enabled;
+
+    private volatile double sampleRate;
+
+    public SqlStatementLog(@Value("${instrumentation.sql-log.enabled}") boolean enabled,
+                           @Value("${instrumentation.sql-log.sample-rate}") double sampleRate) {
+        configure(enabled, sampleRate);
+    }
+
+    public void configure(boolean enabled, double sampleRate) {
+        this.sampleRate = Math.min(Math.max(sampleRate, 0), 1);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    void statementPrepared(String sql) {
+        if (enabled && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info(sql);
+        }
+    }
+}
@@ -3,12 +3,17 @@ package uni.plovdiv.webserver.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "car")
+@Table(name = "car", indexes = {
+        @Index(name = "idx_car_make_year", columnList = "make, production_year"),
+        @Index(name = "idx_car_deleted", columnList = "deleted")
+})
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 public class Car {
@@ -27,11 +32,17 @@ public class Car {
     @Column(name = "license_palte")
     private String licensePlate;
 
+    @Version
+    private Long version;
+
+    private boolean deleted;
+
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "car_garages",
             joinColumns = @JoinColumn(name = "car_id"),
-            inverseJoinColumns = @JoinColumn(name = "garage_id")
+            inverseJoinColumns = @JoinColumn(name = "garage_id"),
+            indexes = @Index(name = "idx_car_garages_garage_car", columnList = "garage_id, car_id")
     )
     private Set<Garage> garages = new HashSet<>();
 }
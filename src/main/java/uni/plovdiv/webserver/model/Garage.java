@@ -3,11 +3,16 @@ package uni.plovdiv.webserver.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.Set;
 
 @Entity
-@Table(name = "garage")
+@Table(name = "garage", indexes = {
+        @Index(name = "idx_garage_city", columnList = "city"),
+        @Index(name = "idx_garage_deleted", columnList = "deleted")
+})
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 public class Garage {
@@ -24,6 +29,11 @@ public class Garage {
 
     private Integer capacity;
 
+    @Version
+    private Long version;
+
+    private boolean deleted;
+
     @ManyToMany(mappedBy = "garages", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private Set<Car> cars;
 }
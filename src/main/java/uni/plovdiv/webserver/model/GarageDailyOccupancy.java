@@ -0,0 +1,20 @@
+package uni.plovdiv.webserver.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "garage_daily_occupancy")
+@Getter
+@Setter
+public class GarageDailyOccupancy {
+
+    @EmbeddedId
+    private GarageDailyOccupancyId id;
+
+    private Integer requests;
+
+    @Version
+    private Long version;
+}
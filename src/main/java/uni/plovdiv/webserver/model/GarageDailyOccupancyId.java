@@ -0,0 +1,27 @@
+package uni.plovdiv.webserver.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class GarageDailyOccupancyId implements Serializable {
+
+    @Column(name = "garage_id")
+    private Integer garageId;
+
+    @Column(name = "scheduled_date")
+    private LocalDate scheduledDate;
+}
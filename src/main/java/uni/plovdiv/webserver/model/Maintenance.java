@@ -4,11 +4,17 @@ package uni.plovdiv.webserver.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "maintenance")
+@Table(name = "maintenance", indexes = {
+        @Index(name = "idx_maintenance_garage_date", columnList = "garage_id, scheduled_date, id"),
+        @Index(name = "idx_maintenance_car", columnList = "car_id, scheduled_date"),
+        @Index(name = "idx_maintenance_date", columnList = "scheduled_date, id")
+})
+@SQLRestriction("garage_id NOT IN (SELECT g.id FROM garage g WHERE g.deleted = true) AND car_id NOT IN (SELECT c.id FROM car c WHERE c.deleted = true)")
 @Getter
 @Setter
 public class Maintenance {
@@ -30,4 +36,7 @@ public class Maintenance {
 
     @Column(name = "scheduled_date")
     private LocalDate scheduledDate;
+
+    @Version
+    private Long version;
 }
@@ -0,0 +1,139 @@
+package uni.plovdiv.webserver.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import uni.plovdiv.webserver.dto.bulk.CarRecordDTO;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.repository.projection.CarView;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class CarBatchRepository {
+
+    private static final String INSERT_CAR = """
+            INSERT INTO car (make, model, production_year, license_palte)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_CAR_GARAGE = """
+            INSERT INTO car_garages (car_id, garage_id)
+            VALUES (?, ?)
+            """;
+
+    private static final String SELECT_CAR_RECORDS = """
+            SELECT c.id, c.make, c.model, c.production_year, c.license_palte, cg.garage_id
+            FROM car c LEFT JOIN car_garages cg ON cg.car_id = c.id
+            AND cg.garage_id NOT IN (SELECT g.id FROM garage g WHERE g.deleted = TRUE)
+            WHERE c.deleted = FALSE
+            ORDER BY c.id, cg.garage_id
+            """;
+
+    private static final String SELECT_CAR_VIEWS = """
+            SELECT id, make, model, production_year, license_palte
+            FROM car
+            WHERE deleted = FALSE
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Integer> insertAll(List<CreateCarDTO> cars) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+            List<Integer> ids = new ArrayList<>(cars.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_CAR, new String[]{"id"})) {
+                for (CreateCarDTO car : cars) {
+                    statement.setString(1, car.make());
+                    statement.setString(2, car.model());
+                    if (car.productionYear() != null) {
+                        statement.setInt(3, car.productionYear());
+                    } else {
+                        statement.setNull(3, Types.INTEGER);
+                    }
+                    statement.setString(4, car.licensePlate());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    while (generatedKeys.next()) {
+                        ids.add(generatedKeys.getInt(1));
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_CAR_GARAGE)) {
+                for (int i = 0; i < cars.size(); i++) {
+                    for (Integer garageId : new LinkedHashSet<>(cars.get(i).garageIds())) {
+                        statement.setInt(1, ids.get(i));
+                        statement.setInt(2, garageId);
+                        statement.addBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+            return ids;
+        });
+    }
+
+    public void forEachRecord(Consumer<CarRecordDTO> consumer) {
+        CarRecordAccumulator accumulator = new CarRecordAccumulator(consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_CAR_RECORDS);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, accumulator);
+        accumulator.flush();
+    }
+
+    public void forEachView(Consumer<CarView> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_CAR_VIEWS);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(new CarView(resultSet.getInt("id"), resultSet.getString("make"),
+                resultSet.getString("model"), resultSet.getObject("production_year", Integer.class), resultSet.getString("license_palte"))));
+    }
+
+    private static class CarRecordAccumulator implements RowCallbackHandler {
+
+        private final Consumer<CarRecordDTO> consumer;
+
+        private CarRecordDTO current;
+
+        private CarRecordAccumulator(Consumer<CarRecordDTO> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            int id = resultSet.getInt("id");
+            if (current == null || current.id() != id) {
+                flush();
+                current = new CarRecordDTO(id, resultSet.getString("make"), resultSet.getString("model"),
+                        resultSet.getObject("production_year", Integer.class), resultSet.getString("license_palte"), new ArrayList<>());
+            }
+            Integer garageId = resultSet.getObject("garage_id", Integer.class);
+            if (garageId != null) {
+                current.garageIds().add(garageId);
+            }
+        }
+
+        private void flush() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+    }
+}
@@ -3,17 +3,37 @@ package uni.plovdiv.webserver.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import uni.plovdiv.webserver.model.Car;
+import uni.plovdiv.webserver.repository.projection.CarGarageView;
+import uni.plovdiv.webserver.repository.projection.CarVersionView;
+import uni.plovdiv.webserver.repository.projection.CarView;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface CarRepository extends JpaRepository<Car, Integer> {
+public interface CarRepository extends JpaRepository<Car, Integer>, CarViewRepository {
+
+    boolean existsByIdAndGaragesId(Integer id, Integer garageId);
+
+    @Query("""
+            SELECT new uni.plovdiv.webserver.repository.projection.CarGarageView(c.id, g.id)
+            FROM Car c JOIN c.garages g
+            WHERE c.id IN :carIds
+            ORDER BY g.id
+            """)
+    List<CarGarageView> findGarageViewsByCarIds(Collection<Integer> carIds);
+
+    @Query("""
+            SELECT new uni.plovdiv.webserver.repository.projection.CarView(c.id, c.make, c.model, c.productionYear, c.licensePlate)
+            FROM Car c
+            WHERE c.id IN :ids
+            """)
+    List<CarView> findViewsByIds(Collection<Integer> ids);
 
     @Query("""
-            SELECT c FROM Car c LEFT JOIN c.garages g
-            WHERE (:make IS NULL OR c.make = :make)
-            AND (:garageId IS NULL OR g.id = :garageId)
-            AND (:fromYear IS NULL OR c.productionYear >= :fromYear)
-            AND (:toYear IS NULL OR c.productionYear <= :toYear)
+            SELECT new uni.plovdiv.webserver.repository.projection.CarVersionView(c.version, g.id)
+            FROM Car c LEFT JOIN c.garages g
+            WHERE c.id = :id
+            ORDER BY g.id
             """)
-    List<Car> findByMakeAndGaragesIdAndProductionYear(String make, Integer garageId, Integer fromYear, Integer toYear);
+    List<CarVersionView> findVersionViewsById(Integer id);
 }
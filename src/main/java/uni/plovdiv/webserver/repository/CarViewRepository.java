@@ -0,0 +1,10 @@
+package uni.plovdiv.webserver.repository;
+
+import uni.plovdiv.webserver.repository.projection.CarView;
+
+import java.util.List;
+
+public interface CarViewRepository {
+
+    List<CarView> findViewsByMakeAndGaragesIdAndProductionYear(String make, Integer garageId, Integer fromYear, Integer toYear);
+}
@@ -0,0 +1,49 @@
+package uni.plovdiv.webserver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import uni.plovdiv.webserver.model.Car;
+import uni.plovdiv.webserver.model.Garage;
+import uni.plovdiv.webserver.repository.projection.CarView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class CarViewRepositoryImpl implements CarViewRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CarView> findViewsByMakeAndGaragesIdAndProductionYear(String make, Integer garageId, Integer fromYear, Integer toYear) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CarView> query = builder.createQuery(CarView.class);
+        Root<Car> car = query.from(Car.class);
+        Path<Integer> productionYear = car.get("productionYear");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (make != null) {
+            predicates.add(builder.equal(car.get("make"), make));
+        }
+        if (garageId != null) {
+            predicates.add(builder.equal(car.<Car, Garage>join("garages").get("id"), garageId));
+        }
+        if (fromYear != null) {
+            predicates.add(builder.greaterThanOrEqualTo(productionYear, fromYear));
+        }
+        if (toYear != null) {
+            predicates.add(builder.lessThanOrEqualTo(productionYear, toYear));
+        }
+
+        query.select(builder.construct(CarView.class,
+                        car.get("id"), car.get("make"), car.get("model"), productionYear, car.get("licensePlate")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(car.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
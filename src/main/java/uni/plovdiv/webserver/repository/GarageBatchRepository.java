@@ -0,0 +1,71 @@
+package uni.plovdiv.webserver.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class GarageBatchRepository {
+
+    private static final String INSERT_GARAGE = """
+            INSERT INTO garage (name, location, city, capacity)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_GARAGE_RECORDS = """
+            SELECT id, name, location, city, capacity
+            FROM garage
+            WHERE deleted = FALSE
+            ORDER BY id
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Integer> insertAll(List<CreateGarageDTO> garages) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+            List<Integer> ids = new ArrayList<>(garages.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_GARAGE, new String[]{"id"})) {
+                for (CreateGarageDTO garage : garages) {
+                    statement.setString(1, garage.name());
+                    statement.setString(2, garage.location());
+                    statement.setString(3, garage.city());
+                    statement.setInt(4, garage.capacity());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    while (generatedKeys.next()) {
+                        ids.add(generatedKeys.getInt(1));
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    public void forEachRecord(Consumer<ResponseGarageDTO> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_GARAGE_RECORDS);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(new ResponseGarageDTO(
+                resultSet.getInt("id"),
+                resultSet.getString("name"),
+                resultSet.getString("location"),
+                resultSet.getString("city"),
+                resultSet.getObject("capacity", Integer.class))));
+    }
+}
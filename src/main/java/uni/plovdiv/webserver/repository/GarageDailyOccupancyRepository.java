@@ -0,0 +1,112 @@
+package uni.plovdiv.webserver.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import uni.plovdiv.webserver.model.GarageDailyOccupancy;
+import uni.plovdiv.webserver.model.GarageDailyOccupancyId;
+import uni.plovdiv.webserver.repository.projection.DailyRequestsCount;
+import uni.plovdiv.webserver.repository.projection.GarageOccupancyView;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface GarageDailyOccupancyRepository extends JpaRepository<GarageDailyOccupancy, GarageDailyOccupancyId> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT o FROM GarageDailyOccupancy o
+            WHERE o.id.garageId = :garageId
+            AND o.id.scheduledDate IN :scheduledDates
+            ORDER BY o.id.scheduledDate
+            """)
+    List<GarageDailyOccupancy> findAllForUpdate(Integer garageId, Collection<LocalDate> scheduledDates);
+
+    @Query("""
+            SELECT o.id.scheduledDate AS scheduledDate, o.requests AS requests
+            FROM GarageDailyOccupancy o
+            WHERE o.id.garageId = :garageId
+            AND o.id.scheduledDate BETWEEN :startDate AND :endDate
+            """)
+    List<DailyRequestsCount> findDailyRequests(Integer garageId, LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+            SELECT new uni.plovdiv.webserver.repository.projection.GarageOccupancyView(g.id, o.id.scheduledDate, o.requests)
+            FROM Car c
+            JOIN c.garages g
+            LEFT JOIN GarageDailyOccupancy o ON o.id.garageId = g.id
+            AND o.id.scheduledDate BETWEEN :startDate AND :endDate
+            WHERE c.id = :carId
+            AND g.city = :city
+            """)
+    List<GarageOccupancyView> findRegisteredGarageOccupancy(Integer carId, String city, LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+            SELECT new uni.plovdiv.webserver.repository.projection.GarageOccupancyView(o.id.garageId, o.id.scheduledDate, o.requests)
+            FROM GarageDailyOccupancy o
+            WHERE o.id.scheduledDate BETWEEN :startDate AND :endDate
+            AND o.requests > 0
+            """)
+    List<GarageOccupancyView> findOccupancyBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+            SELECT new uni.plovdiv.webserver.repository.projection.GarageOccupancyView(o.id.garageId, o.id.scheduledDate, o.requests)
+            FROM GarageDailyOccupancy o
+            WHERE o.id.garageId IN :garageIds
+            AND o.id.scheduledDate BETWEEN :startDate AND :endDate
+            AND o.requests > 0
+            """)
+    List<GarageOccupancyView> findOccupancyByGarageIds(Collection<Integer> garageIds, LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+            SELECT o.id.garageId
+            FROM GarageDailyOccupancy o
+            WHERE o.id.scheduledDate BETWEEN :startDate AND :endDate
+            GROUP BY o.id.garageId
+            ORDER BY SUM(o.requests) DESC
+            """)
+    List<Integer> findBusiestGarageIds(LocalDate startDate, LocalDate endDate, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE GarageDailyOccupancy o
+            SET o.requests = o.requests + 1, o.version = o.version + 1
+            WHERE o.id.garageId = :garageId
+            AND o.id.scheduledDate = :scheduledDate
+            AND o.requests < :capacity
+            """)
+    int incrementIfBelowCapacity(Integer garageId, LocalDate scheduledDate, Integer capacity);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE GarageDailyOccupancy o
+            SET o.requests = o.requests - 1, o.version = o.version + 1
+            WHERE o.id.garageId = :garageId
+            AND o.id.scheduledDate = :scheduledDate
+            AND o.requests > 0
+            """)
+    int decrement(Integer garageId, LocalDate scheduledDate);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM garage_daily_occupancy", nativeQuery = true)
+    int deleteAllRows();
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO garage_daily_occupancy (garage_id, scheduled_date, requests, version)
+            SELECT m.garage_id, m.scheduled_date, COUNT(*), 0
+            FROM maintenance m
+            WHERE m.car_id NOT IN (SELECT c.id FROM car c WHERE c.deleted = TRUE)
+            GROUP BY m.garage_id, m.scheduled_date
+            """, nativeQuery = true)
+    int insertCountsFromMaintenance();
+}
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Repository;
 import uni.plovdiv.webserver.model.Garage;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GarageRepository extends JpaRepository<Garage, Integer> {
@@ -15,4 +16,10 @@ public interface GarageRepository extends JpaRepository<Garage, Integer> {
             WHERE (:city IS NULL OR g.city = :city)
             """)
     List<Garage> findByCity(String city);
+
+    @Query("""
+            SELECT g.version FROM Garage g
+            WHERE g.id = :id
+            """)
+    Optional<Long> findVersionById(Integer id);
 }
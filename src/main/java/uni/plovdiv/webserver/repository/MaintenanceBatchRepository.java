@@ -0,0 +1,78 @@
+package uni.plovdiv.webserver.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import uni.plovdiv.webserver.dto.bulk.MaintenanceRecordDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class MaintenanceBatchRepository {
+
+    private static final String INSERT_MAINTENANCE = """
+            INSERT INTO maintenance (car_id, garage_id, service_type, scheduled_date)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_MAINTENANCE_RECORDS = """
+            SELECT id, car_id, service_type, scheduled_date, garage_id
+            FROM maintenance
+            WHERE garage_id NOT IN (SELECT g.id FROM garage g WHERE g.deleted = TRUE)
+            AND car_id NOT IN (SELECT c.id FROM car c WHERE c.deleted = TRUE)
+            ORDER BY id
+            """;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Integer> insertAll(List<CreateMaintenanceDTO> maintenances) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+            List<Integer> ids = new ArrayList<>(maintenances.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_MAINTENANCE, new String[]{"id"})) {
+                for (int from = 0; from < maintenances.size(); from += BATCH_SIZE) {
+                    for (CreateMaintenanceDTO maintenance : maintenances.subList(from, Math.min(from + BATCH_SIZE, maintenances.size()))) {
+                        statement.setInt(1, maintenance.carId());
+                        statement.setInt(2, maintenance.garageId());
+                        statement.setString(3, maintenance.serviceType());
+                        statement.setDate(4, Date.valueOf(maintenance.scheduledDate()));
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                        while (generatedKeys.next()) {
+                            ids.add(generatedKeys.getInt(1));
+                        }
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    public void forEachRecord(Consumer<MaintenanceRecordDTO> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_MAINTENANCE_RECORDS);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(new MaintenanceRecordDTO(
+                resultSet.getInt("id"),
+                resultSet.getInt("car_id"),
+                resultSet.getString("service_type"),
+                resultSet.getObject("scheduled_date", LocalDate.class),
+                resultSet.getInt("garage_id"))));
+    }
+}
@@ -3,22 +3,42 @@ package uni.plovdiv.webserver.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import uni.plovdiv.webserver.model.Maintenance;
+import uni.plovdiv.webserver.repository.projection.GarageMonthlyRequestsCount;
+import uni.plovdiv.webserver.repository.projection.MaintenanceVersionView;
+import uni.plovdiv.webserver.repository.projection.MonthlyRequestsCount;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-public interface MaintenanceRepository extends JpaRepository<Maintenance, Integer> {
+public interface MaintenanceRepository extends JpaRepository<Maintenance, Integer>, MaintenanceViewRepository {
 
-    List<Maintenance> findByGarageId(Integer garageId);
+    List<Maintenance> findByGarageIdAndScheduledDateBetween(Integer garageId, LocalDate startDate, LocalDate endDate);
 
-    List<Maintenance> findByGarageIdAndScheduledDate(Integer garageId, LocalDate scheduledDate);
+    @Query("""
+            SELECT YEAR(m.scheduledDate) AS scheduledYear, MONTH(m.scheduledDate) AS scheduledMonth, COUNT(m.id) AS requests
+            FROM Maintenance m
+            WHERE m.garage.id = :garageId
+            AND m.scheduledDate BETWEEN :startDate AND :endDate
+            GROUP BY YEAR(m.scheduledDate), MONTH(m.scheduledDate)
+            """)
+    List<MonthlyRequestsCount> countMonthlyRequests(Integer garageId, LocalDate startDate, LocalDate endDate);
 
-    List<Maintenance> findByGarageIdAndScheduledDateBetween(Integer garageId, LocalDate startDate, LocalDate endDate);
+    @Query("""
+            SELECT g.id AS garageId, g.name AS garageName,
+            YEAR(m.scheduledDate) AS scheduledYear, MONTH(m.scheduledDate) AS scheduledMonth, COUNT(m.id) AS requests
+            FROM Garage g LEFT JOIN Maintenance m
+            ON m.garage.id = g.id AND m.scheduledDate BETWEEN :startDate AND :endDate
+            WHERE g.city = :city
+            GROUP BY g.id, g.name, YEAR(m.scheduledDate), MONTH(m.scheduledDate)
+            ORDER BY g.id
+            """)
+    List<GarageMonthlyRequestsCount> countMonthlyRequestsByCity(String city, LocalDate startDate, LocalDate endDate);
 
     @Query("""
-            SELECT m FROM Maintenance m
-            WHERE (:garageId IS NULL OR m.garage.id = :garageId)
-            AND (:carId IS NULL OR m.car.id = :carId)
+            SELECT new uni.plovdiv.webserver.repository.projection.MaintenanceVersionView(m.version, m.car.id, m.garage.id)
+            FROM Maintenance m
+            WHERE m.id = :id
             """)
-    List<Maintenance> findByGarageIdAndCarId(Integer garageId, Integer carId);
+    Optional<MaintenanceVersionView> findVersionViewById(Integer id);
 }
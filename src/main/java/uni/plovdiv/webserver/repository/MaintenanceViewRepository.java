@@ -0,0 +1,18 @@
+package uni.plovdiv.webserver.repository;
+
+import org.springframework.data.domain.Limit;
+import uni.plovdiv.webserver.repository.projection.MaintenanceView;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface MaintenanceViewRepository {
+
+    List<MaintenanceView> findViews(Integer garageId, Integer carId, LocalDate startDate, LocalDate endDate);
+
+    List<MaintenanceView> findViewsPage(Integer garageId, Integer carId, LocalDate startDate, LocalDate endDate,
+                                        LocalDate afterDate, Integer afterId, Limit limit);
+
+    Stream<MaintenanceView> streamViews(Integer garageId, Integer carId, LocalDate startDate, LocalDate endDate);
+}
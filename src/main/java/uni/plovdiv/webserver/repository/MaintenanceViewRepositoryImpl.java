@@ -0,0 +1,91 @@
+package uni.plovdiv.webserver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+import uni.plovdiv.webserver.model.Car;
+import uni.plovdiv.webserver.model.Garage;
+import uni.plovdiv.webserver.model.Maintenance;
+import uni.plovdiv.webserver.repository.projection.MaintenanceView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+class MaintenanceViewRepositoryImpl implements MaintenanceViewRepository {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MaintenanceView> findViews(Integer garageId, Integer carId, LocalDate startDate, LocalDate endDate) {
+        return createQuery(garageId, carId, startDate, endDate, null, null, false).getResultList();
+    }
+
+    @Override
+    public List<MaintenanceView> findViewsPage(Integer garageId, Integer carId, LocalDate startDate, LocalDate endDate,
+                                               LocalDate afterDate, Integer afterId, Limit limit) {
+        return createQuery(garageId, carId, startDate, endDate, afterDate, afterId, true)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<MaintenanceView> streamViews(Integer garageId, Integer carId, LocalDate startDate, LocalDate endDate) {
+        return createQuery(garageId, carId, startDate, endDate, null, null, true)
+                .setHint(HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private TypedQuery<MaintenanceView> createQuery(Integer garageId, Integer carId, LocalDate startDate, LocalDate endDate,
+                                                    LocalDate afterDate, Integer afterId, boolean ordered) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MaintenanceView> query = builder.createQuery(MaintenanceView.class);
+        Root<Maintenance> maintenance = query.from(Maintenance.class);
+        Join<Maintenance, Car> car = maintenance.join("car");
+        Join<Maintenance, Garage> garage = maintenance.join("garage");
+        Path<LocalDate> scheduledDate = maintenance.get("scheduledDate");
+        Path<Integer> id = maintenance.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (garageId != null) {
+            predicates.add(builder.equal(maintenance.get("garage").get("id"), garageId));
+        }
+        if (carId != null) {
+            predicates.add(builder.equal(maintenance.get("car").get("id"), carId));
+        }
+        if (startDate != null) {
+            predicates.add(builder.greaterThan(scheduledDate, startDate));
+        }
+        if (endDate != null) {
+            predicates.add(builder.lessThan(scheduledDate, endDate));
+        }
+        if (afterDate != null) {
+            predicates.add(builder.greaterThanOrEqualTo(scheduledDate, afterDate));
+            predicates.add(builder.or(
+                    builder.greaterThan(scheduledDate, afterDate),
+                    builder.and(builder.equal(scheduledDate, afterDate), builder.greaterThan(id, afterId))));
+        }
+
+        query.select(builder.construct(MaintenanceView.class,
+                        id, car.get("id"), car.get("make"), car.get("model"), car.get("licensePlate"),
+                        maintenance.get("serviceType"), scheduledDate, garage.get("id"), garage.get("name")))
+                .where(predicates.toArray(Predicate[]::new));
+        if (ordered) {
+            query.orderBy(builder.asc(scheduledDate), builder.asc(id));
+        }
+        return entityManager.createQuery(query);
+    }
+}
@@ -0,0 +1,132 @@
+package uni.plovdiv.webserver.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import uni.plovdiv.webserver.repository.projection.TombstonedMaintenanceView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class TombstoneRepository {
+
+    private static final String SELECT_TOMBSTONED_MAINTENANCE = """
+            SELECT m.id, m.garage_id, m.scheduled_date
+            FROM maintenance m
+            WHERE m.garage_id IN (SELECT g.id FROM garage g WHERE g.deleted = TRUE)
+            UNION
+            SELECT m.id, m.garage_id, m.scheduled_date
+            FROM maintenance m
+            WHERE m.car_id IN (SELECT c.id FROM car c WHERE c.deleted = TRUE)
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String SELECT_MAINTENANCE_OF_CAR = """
+            SELECT id, garage_id, scheduled_date
+            FROM maintenance
+            WHERE car_id = ?
+            ORDER BY garage_id, scheduled_date
+            """;
+
+    private static final String LOCK_MAINTENANCE_OF_CAR = """
+            UPDATE maintenance
+            SET version = version + 1
+            WHERE car_id = ?
+            """;
+
+    private static final String DELETE_MAINTENANCE = """
+            DELETE FROM maintenance
+            WHERE id = ?
+            """;
+
+    private static final String DELETE_CAR_GARAGES_OF_TOMBSTONED_GARAGES = """
+            DELETE FROM car_garages
+            WHERE garage_id IN (SELECT g.id FROM garage g WHERE g.deleted = TRUE)
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String DELETE_CAR_GARAGES_OF_TOMBSTONED_CARS = """
+            DELETE FROM car_garages
+            WHERE car_id IN (SELECT c.id FROM car c WHERE c.deleted = TRUE)
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String DELETE_TOMBSTONED_OCCUPANCY = """
+            DELETE FROM garage_daily_occupancy
+            WHERE garage_id IN (SELECT g.id FROM garage g WHERE g.deleted = TRUE)
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String DELETE_TOMBSTONED_GARAGES = """
+            DELETE FROM garage g
+            WHERE g.deleted = TRUE
+            AND NOT EXISTS (SELECT 1 FROM maintenance m WHERE m.garage_id = g.id)
+            AND NOT EXISTS (SELECT 1 FROM car_garages cg WHERE cg.garage_id = g.id)
+            AND NOT EXISTS (SELECT 1 FROM garage_daily_occupancy o WHERE o.garage_id = g.id)
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String DELETE_TOMBSTONED_CARS = """
+            DELETE FROM car c
+            WHERE c.deleted = TRUE
+            AND NOT EXISTS (SELECT 1 FROM maintenance m WHERE m.car_id = c.id)
+            AND NOT EXISTS (SELECT 1 FROM car_garages cg WHERE cg.car_id = c.id)
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final RowMapper<TombstonedMaintenanceView> MAINTENANCE_ROW_MAPPER = (resultSet, row) -> new TombstonedMaintenanceView(
+            resultSet.getInt("id"),
+            resultSet.getInt("garage_id"),
+            resultSet.getObject("scheduled_date", LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<TombstonedMaintenanceView> findTombstonedMaintenance(int limit) {
+        return jdbcTemplate.query(SELECT_TOMBSTONED_MAINTENANCE, MAINTENANCE_ROW_MAPPER, limit);
+    }
+
+    public List<TombstonedMaintenanceView> findMaintenanceOfCar(Integer carId) {
+        return jdbcTemplate.query(SELECT_MAINTENANCE_OF_CAR, MAINTENANCE_ROW_MAPPER, carId);
+    }
+
+    public int lockMaintenanceOfCar(Integer carId) {
+        return jdbcTemplate.update(LOCK_MAINTENANCE_OF_CAR, carId);
+    }
+
+    public List<TombstonedMaintenanceView> deleteMaintenance(List<TombstonedMaintenanceView> maintenances) {
+        int[] deleted = jdbcTemplate.batchUpdate(DELETE_MAINTENANCE, maintenances.stream()
+                .map(maintenance -> new Object[]{maintenance.id()})
+                .toList());
+        List<TombstonedMaintenanceView> result = new ArrayList<>(maintenances.size());
+        for (int i = 0; i < deleted.length; i++) {
+            if (deleted[i] > 0) {
+                result.add(maintenances.get(i));
+            }
+        }
+        return result;
+    }
+
+    public int deleteCarGaragesOfTombstonedGarages(int limit) {
+        return jdbcTemplate.update(DELETE_CAR_GARAGES_OF_TOMBSTONED_GARAGES, limit);
+    }
+
+    public int deleteCarGaragesOfTombstonedCars(int limit) {
+        return jdbcTemplate.update(DELETE_CAR_GARAGES_OF_TOMBSTONED_CARS, limit);
+    }
+
+    public int deleteTombstonedOccupancy(int limit) {
+        return jdbcTemplate.update(DELETE_TOMBSTONED_OCCUPANCY, limit);
+    }
+
+    public int deleteTombstonedGarages(int limit) {
+        return jdbcTemplate.update(DELETE_TOMBSTONED_GARAGES, limit);
+    }
+
+    public int deleteTombstonedCars(int limit) {
+        return jdbcTemplate.update(DELETE_TOMBSTONED_CARS, limit);
+    }
+}
@@ -0,0 +1,7 @@
+package uni.plovdiv.webserver.repository.projection;
+
+public record CarGarageView(
+        Integer carId,
+        Integer garageId
+) {
+}
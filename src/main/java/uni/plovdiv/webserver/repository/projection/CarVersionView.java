@@ -0,0 +1,7 @@
+package uni.plovdiv.webserver.repository.projection;
+
+public record CarVersionView(
+        Long version,
+        Integer garageId
+) {
+}
@@ -0,0 +1,10 @@
+package uni.plovdiv.webserver.repository.projection;
+
+public record CarView(
+        Integer id,
+        String make,
+        String model,
+        Integer productionYear,
+        String licensePlate
+) {
+}
@@ -0,0 +1,8 @@
+package uni.plovdiv.webserver.repository.projection;
+
+public interface GarageMonthlyRequestsCount extends MonthlyRequestsCount {
+
+    Integer getGarageId();
+
+    String getGarageName();
+}
@@ -0,0 +1,10 @@
+package uni.plovdiv.webserver.repository.projection;
+
+import java.time.LocalDate;
+
+public record GarageOccupancyView(
+        Integer garageId,
+        LocalDate scheduledDate,
+        Integer requests
+) {
+}
@@ -0,0 +1,8 @@
+package uni.plovdiv.webserver.repository.projection;
+
+public record MaintenanceVersionView(
+        Long version,
+        Integer carId,
+        Integer garageId
+) {
+}
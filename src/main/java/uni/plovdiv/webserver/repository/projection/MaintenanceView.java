@@ -0,0 +1,16 @@
+package uni.plovdiv.webserver.repository.projection;
+
+import java.time.LocalDate;
+
+public record MaintenanceView(
+        Integer id,
+        Integer carId,
+        String carMake,
+        String carModel,
+        String carLicensePlate,
+        String serviceType,
+        LocalDate scheduledDate,
+        Integer garageId,
+        String garageName
+) {
+}
@@ -0,0 +1,10 @@
+package uni.plovdiv.webserver.repository.projection;
+
+public interface MonthlyRequestsCount {
+
+    Integer getScheduledYear();
+
+    Integer getScheduledMonth();
+
+    Long getRequests();
+}
@@ -0,0 +1,62 @@
+package uni.plovdiv.webserver.service;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uni.plovdiv.webserver.dto.bulk.BulkFormat;
+import uni.plovdiv.webserver.dto.bulk.CarRecordDTO;
+import uni.plovdiv.webserver.dto.bulk.MaintenanceRecordDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.repository.CarBatchRepository;
+import uni.plovdiv.webserver.repository.GarageBatchRepository;
+import uni.plovdiv.webserver.repository.MaintenanceBatchRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class BulkExportService {
+
+    private final BulkRecordMapper bulkRecordMapper;
+
+    private final GarageBatchRepository garageBatchRepository;
+
+    private final CarBatchRepository carBatchRepository;
+
+    private final MaintenanceBatchRepository maintenanceBatchRepository;
+
+    @Transactional(readOnly = true)
+    public void exportGarages(BulkFormat format, OutputStream output) throws IOException {
+        try (SequenceWriter writer = bulkRecordMapper.writeValues(format, ResponseGarageDTO.class, output)) {
+            garageBatchRepository.forEachRecord(writeTo(writer));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCars(BulkFormat format, OutputStream output) throws IOException {
+        try (SequenceWriter writer = bulkRecordMapper.writeValues(format, CarRecordDTO.class, output)) {
+            carBatchRepository.forEachRecord(writeTo(writer));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportMaintenances(BulkFormat format, OutputStream output) throws IOException {
+        try (SequenceWriter writer = bulkRecordMapper.writeValues(format, MaintenanceRecordDTO.class, output)) {
+            maintenanceBatchRepository.forEachRecord(writeTo(writer));
+        }
+    }
+
+    private static <T> Consumer<T> writeTo(SequenceWriter writer) {
+        return record -> {
+            try {
+                writer.write(record);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        };
+    }
+}
@@ -0,0 +1,233 @@
+package uni.plovdiv.webserver.service;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import uni.plovdiv.webserver.dto.bulk.BulkFormat;
+import uni.plovdiv.webserver.dto.bulk.ImportErrorDTO;
+import uni.plovdiv.webserver.dto.bulk.ImportProgressDTO;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.BatchMaintenanceResultDTO;
+import uni.plovdiv.webserver.dto.maintenance.BatchMode;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.repository.CarBatchRepository;
+import uni.plovdiv.webserver.repository.GarageBatchRepository;
+import uni.plovdiv.webserver.repository.projection.CarView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toSet;
+
+@Service
+@RequiredArgsConstructor
+public class BulkImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BulkRecordMapper bulkRecordMapper;
+
+    private final GarageBatchRepository garageBatchRepository;
+
+    private final CarBatchRepository carBatchRepository;
+
+    private final GarageCache garageCache;
+
+    private final CarSearchIndex carSearchIndex;
+
+    private final MaintenanceService maintenanceService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public void importGarages(BulkFormat format, InputStream input, OutputStream output) throws IOException {
+        importRecords(format, CreateGarageDTO.class, input, output, this::importGarages);
+    }
+
+    public void importCars(BulkFormat format, InputStream input, OutputStream output) throws IOException {
+        importRecords(format, CreateCarDTO.class, input, output, this::importCars);
+    }
+
+    public void importMaintenances(BulkFormat format, InputStream input, OutputStream output) throws IOException {
+        importRecords(format, CreateMaintenanceDTO.class, input, output, this::importMaintenances);
+    }
+
+    private <T> void importRecords(BulkFormat format, Class<T> type, InputStream input, OutputStream output,
+                                   Function<List<T>, String[]> chunkImporter) throws IOException {
+        try (SequenceWriter events = bulkRecordMapper.writeValues(BulkFormat.NDJSON, Object.class, output)) {
+            ImportRun<T> run = new ImportRun<>(events, chunkImporter);
+            try (MappingIterator<T> records = bulkRecordMapper.readValues(format, type, input)) {
+                while (records.hasNextValue()) {
+                    run.read(records);
+                }
+                run.finish();
+            } catch (StreamReadException exception) {
+                run.abort(exception.getOriginalMessage());
+            }
+        }
+    }
+
+    private String[] importGarages(List<CreateGarageDTO> garages) {
+        String[] errors = new String[garages.size()];
+        List<CreateGarageDTO> accepted = new ArrayList<>();
+        for (int index = 0; index < garages.size(); index++) {
+            errors[index] = validateGarage(garages.get(index));
+            if (errors[index] == null) {
+                accepted.add(garages.get(index));
+            }
+        }
+        if (!accepted.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                garageBatchRepository.insertAll(accepted);
+                garageCache.invalidate(null, accepted.stream().map(CreateGarageDTO::city).distinct().toArray(String[]::new));
+            });
+        }
+        return errors;
+    }
+
+    private String validateGarage(CreateGarageDTO garage) {
+        if (garage.name() == null || garage.city() == null || garage.capacity() == null) {
+            return "name, city and capacity are required";
+        }
+        if (garage.capacity() < 1) {
+            return "capacity must be positive";
+        }
+        return null;
+    }
+
+    private String[] importCars(List<CreateCarDTO> cars) {
+        Map<Integer, ResponseGarageDTO> garagesById = garageCache.getAllById(cars.stream()
+                .filter(car -> car.garageIds() != null)
+                .flatMap(car -> car.garageIds().stream())
+                .filter(Objects::nonNull)
+                .collect(toSet()));
+
+        String[] errors = new String[cars.size()];
+        List<CreateCarDTO> accepted = new ArrayList<>();
+        for (int index = 0; index < cars.size(); index++) {
+            CreateCarDTO car = cars.get(index);
+            errors[index] = validateCar(car, garagesById);
+            if (errors[index] == null) {
+                accepted.add(car.garageIds() != null ? car
+                        : new CreateCarDTO(car.make(), car.model(), car.productionYear(), car.licensePlate(), List.of()));
+            }
+        }
+        if (!accepted.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Integer> ids = carBatchRepository.insertAll(accepted);
+                List<CarView> views = new ArrayList<>(accepted.size());
+                for (int index = 0; index < accepted.size(); index++) {
+                    CreateCarDTO car = accepted.get(index);
+                    views.add(new CarView(ids.get(index), car.make(), car.model(), car.productionYear(), car.licensePlate()));
+                }
+                carSearchIndex.carsCreated(views);
+            });
+        }
+        return errors;
+    }
+
+    private String validateCar(CreateCarDTO car, Map<Integer, ResponseGarageDTO> garagesById) {
+        if (car.make() == null || car.model() == null || car.licensePlate() == null) {
+            return "make, model and licensePlate are required";
+        }
+        List<Integer> missingGarageIds = car.garageIds() == null ? List.of() : car.garageIds().stream()
+                .filter(garageId -> !garagesById.containsKey(garageId))
+                .toList();
+        if (!missingGarageIds.isEmpty()) {
+            return "Missing garages with IDs - %s".formatted(missingGarageIds);
+        }
+        return null;
+    }
+
+    private String[] importMaintenances(List<CreateMaintenanceDTO> maintenances) {
+        return maintenanceService.createMaintenances(maintenances, BatchMode.BEST_EFFORT).results().stream()
+                .map(BatchMaintenanceResultDTO::error)
+                .toArray(String[]::new);
+    }
+
+    private static class ImportRun<T> {
+
+        private final SequenceWriter events;
+
+        private final Function<List<T>, String[]> chunkImporter;
+
+        private final List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        private final List<Long> chunkRecordNumbers = new ArrayList<>(CHUNK_SIZE);
+
+        private long processed;
+
+        private long imported;
+
+        private long failed;
+
+        private ImportRun(SequenceWriter events, Function<List<T>, String[]> chunkImporter) {
+            this.events = events;
+            this.chunkImporter = chunkImporter;
+        }
+
+        private void read(MappingIterator<T> records) throws IOException {
+            long recordNumber = processed + 1;
+            try {
+                chunk.add(records.nextValue());
+                chunkRecordNumbers.add(recordNumber);
+                processed++;
+            } catch (DatabindException exception) {
+                processed++;
+                reportError(recordNumber, exception.getOriginalMessage());
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk();
+                reportProgress(false);
+            }
+        }
+
+        private void finish() throws IOException {
+            importChunk();
+            reportProgress(true);
+        }
+
+        private void abort(String reason) throws IOException {
+            importChunk();
+            reportError(processed + 1, "unreadable input, import stopped: " + reason);
+            reportProgress(false);
+        }
+
+        private void importChunk() throws IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            String[] errors = chunkImporter.apply(chunk);
+            for (int index = 0; index < errors.length; index++) {
+                if (errors[index] != null) {
+                    reportError(chunkRecordNumbers.get(index), errors[index]);
+                } else {
+                    imported++;
+                }
+            }
+            chunk.clear();
+            chunkRecordNumbers.clear();
+        }
+
+        private void reportError(long recordNumber, String error) throws IOException {
+            failed++;
+            events.write(new ImportErrorDTO(recordNumber, error));
+        }
+
+        private void reportProgress(boolean completed) throws IOException {
+            events.write(new ImportProgressDTO(processed, imported, failed, completed));
+            events.flush();
+        }
+    }
+}
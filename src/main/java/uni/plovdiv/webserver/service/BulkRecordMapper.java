@@ -0,0 +1,55 @@
+package uni.plovdiv.webserver.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.dto.bulk.BulkFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Component
+public class BulkRecordMapper {
+
+    private static final String ARRAY_ELEMENT_SEPARATOR = ";";
+
+    private final ObjectMapper objectMapper;
+
+    private final CsvMapper csvMapper;
+
+    public BulkRecordMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public <T> MappingIterator<T> readValues(BulkFormat format, Class<T> type, InputStream input) throws IOException {
+        if (format == BulkFormat.CSV) {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader().withArrayElementSeparator(ARRAY_ELEMENT_SEPARATOR);
+            return csvMapper.readerFor(type).with(schema).readValues(input);
+        }
+        return objectMapper.readerFor(type).readValues(input);
+    }
+
+    public SequenceWriter writeValues(BulkFormat format, Class<?> type, OutputStream output) throws IOException {
+        if (format == BulkFormat.CSV) {
+            CsvSchema schema = csvMapper.schemaFor(type).withHeader().withArrayElementSeparator(ARRAY_ELEMENT_SEPARATOR);
+            return csvMapper.writer(schema).writeValues(output);
+        }
+        return objectMapper.writer().withRootValueSeparator("\n").writeValues(output);
+    }
+}
@@ -0,0 +1,528 @@
+package uni.plovdiv.webserver.service;
+
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.model.Car;
+import uni.plovdiv.webserver.repository.projection.CarView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+@Component
+public class CarSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final String PREFIX_MARKER = "^";
+
+    private static final String EXACT_MARKER = "=";
+
+    private static final int LICENSE_PLATE_WEIGHT = 3;
+
+    private static final int MAKE_WEIGHT = 2;
+
+    private static final int MODEL_WEIGHT = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Lock rebuildLock = new ReentrantLock();
+
+    private Index index = new Index();
+
+    private List<Consumer<Index>> pendingChanges;
+
+    public void carChanged(Car car) {
+        CarView view = new CarView(car.getId(), car.getMake(), car.getModel(), car.getProductionYear(), car.getLicensePlate());
+        TransactionCallbacks.afterCommit(() -> put(view));
+    }
+
+    public void carsCreated(List<CarView> cars) {
+        TransactionCallbacks.afterCommit(() -> cars.forEach(this::put));
+    }
+
+    public void carDeleted(Integer id) {
+        TransactionCallbacks.afterCommit(() -> remove(id));
+    }
+
+    public void put(CarView car) {
+        apply(index -> index.put(car));
+    }
+
+    public void remove(Integer id) {
+        apply(index -> index.remove(id));
+    }
+
+    public Hits search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            return index.search(terms, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuild(Consumer<Consumer<CarView>> source) {
+        rebuildLock.lock();
+        try {
+            rebuildFrom(source);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildFrom(Consumer<Consumer<CarView>> source) {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            source.accept(rebuilt::put);
+        } catch (RuntimeException exception) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw exception;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<String> tokenize(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : query.trim().split("\\s+")) {
+            String term = normalize(token);
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (Character.isLetterOrDigit(character)) {
+                normalized.append(Character.toUpperCase(character));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static int score(String field, String term, int weight) {
+        if (field.equals(term)) {
+            return 4 * weight;
+        }
+        if (field.startsWith(term)) {
+            return 2 * weight;
+        }
+        return term.length() >= GRAM_LENGTH && field.contains(term) ? weight : 0;
+    }
+
+    public record Hits(List<Integer> ids, int total) {
+    }
+
+    private record Hit(int id, int score) {
+
+        private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::score).reversed()
+                .thenComparingInt(Hit::id);
+    }
+
+    private static class Postings {
+
+        private int[] ids = new int[2];
+
+        private int size;
+
+        private void add(int id) {
+            int position = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+        }
+
+        private boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    private static class Matches {
+
+        private static final Matches NONE = new Matches(new int[0], null, 0, 0);
+
+        private final int[] ids;
+
+        private final int[] scores;
+
+        private final int score;
+
+        private final int size;
+
+        private Matches(int[] ids, int[] scores, int score, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.score = score;
+            this.size = size;
+        }
+
+        private int score(int index) {
+            return scores != null ? scores[index] : score;
+        }
+
+        private Matches scaled(int factor) {
+            int[] scaledScores = new int[size];
+            for (int i = 0; i < size; i++) {
+                scaledScores[i] = score(i) * factor;
+            }
+            return new Matches(ids, scaledScores, 0, size);
+        }
+
+        private static Matches union(Matches left, Matches right) {
+            if (left.size == 0 || right.size == 0) {
+                return left.size == 0 ? right : left;
+            }
+            int[] ids = new int[left.size + right.size];
+            int[] scores = new int[ids.length];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < left.size || j < right.size) {
+                if (j == right.size || (i < left.size && left.ids[i] < right.ids[j])) {
+                    ids[size] = left.ids[i];
+                    scores[size++] = left.score(i++);
+                } else if (i == left.size || right.ids[j] < left.ids[i]) {
+                    ids[size] = right.ids[j];
+                    scores[size++] = right.score(j++);
+                } else {
+                    ids[size] = left.ids[i];
+                    scores[size++] = Math.max(left.score(i++), right.score(j++));
+                }
+            }
+            return new Matches(ids, scores, 0, size);
+        }
+
+        private static Matches intersection(Matches left, Matches right) {
+            int[] ids = new int[Math.min(left.size, right.size)];
+            int[] scores = new int[ids.length];
+            int size = 0;
+            if (left.size > right.size) {
+                Matches swapped = left;
+                left = right;
+                right = swapped;
+            }
+            if (right.size > left.size * 16L) {
+                int from = 0;
+                for (int i = 0; i < left.size && from < right.size; i++) {
+                    int position = Arrays.binarySearch(right.ids, from, right.size, left.ids[i]);
+                    if (position >= 0) {
+                        ids[size] = left.ids[i];
+                        scores[size++] = left.score(i) + right.score(position);
+                        from = position + 1;
+                    } else {
+                        from = -position - 1;
+                    }
+                }
+                return new Matches(ids, scores, 0, size);
+            }
+            int i = 0;
+            int j = 0;
+            while (i < left.size && j < right.size) {
+                if (left.ids[i] < right.ids[j]) {
+                    i++;
+                } else if (right.ids[j] < left.ids[i]) {
+                    j++;
+                } else {
+                    ids[size] = left.ids[i];
+                    scores[size++] = left.score(i++) + right.score(j++);
+                }
+            }
+            return new Matches(ids, scores, 0, size);
+        }
+    }
+
+    private static class Field {
+
+        private final int weight;
+
+        private final List<String> values = new ArrayList<>();
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private final List<Postings> documents = new ArrayList<>();
+
+        private Field(int weight) {
+            this.weight = weight;
+        }
+
+        private int add(String value, int id) {
+            int code = codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                documents.add(new Postings());
+                return values.size() - 1;
+            });
+            documents.get(code).add(id);
+            return code;
+        }
+
+        private void remove(int code, int id) {
+            documents.get(code).remove(id);
+        }
+
+        private String value(int code) {
+            return values.get(code);
+        }
+
+        private Matches match(String term) {
+            Matches matches = Matches.NONE;
+            for (int code = 0; code < values.size(); code++) {
+                Postings postings = documents.get(code);
+                int score = score(values.get(code), term, weight);
+                if (score > 0 && postings.size > 0) {
+                    Matches valueMatches = new Matches(postings.ids, null, score, postings.size);
+                    matches = Matches.union(matches, valueMatches);
+                }
+            }
+            return matches;
+        }
+    }
+
+    private static class Index {
+
+        private String[] licensePlates = new String[1024];
+
+        private int[] makes = new int[1024];
+
+        private int[] models = new int[1024];
+
+        private int documentCount;
+
+        private final Map<String, Postings> licensePlateGrams = new HashMap<>();
+
+        private final Field make = new Field(MAKE_WEIGHT);
+
+        private final Field model = new Field(MODEL_WEIGHT);
+
+        private void put(CarView car) {
+            int id = car.id();
+            String licensePlate = normalize(car.licensePlate());
+            String makeValue = normalize(car.make());
+            String modelValue = normalize(car.model());
+            if (id < licensePlates.length && licensePlates[id] != null) {
+                if (licensePlates[id].equals(licensePlate) && make.value(makes[id]).equals(makeValue)
+                        && model.value(models[id]).equals(modelValue)) {
+                    return;
+                }
+                remove(id);
+            }
+            if (id >= licensePlates.length) {
+                int capacity = Math.max(id + 1, licensePlates.length * 2);
+                licensePlates = Arrays.copyOf(licensePlates, capacity);
+                makes = Arrays.copyOf(makes, capacity);
+                models = Arrays.copyOf(models, capacity);
+            }
+            licensePlates[id] = licensePlate;
+            makes[id] = make.add(makeValue, id);
+            models[id] = model.add(modelValue, id);
+            licensePlateGrams(licensePlate).forEach(gram -> licensePlateGrams.computeIfAbsent(gram, key -> new Postings()).add(id));
+            documentCount++;
+        }
+
+        private void remove(Integer id) {
+            String licensePlate = id < licensePlates.length ? licensePlates[id] : null;
+            if (licensePlate == null) {
+                return;
+            }
+            licensePlates[id] = null;
+            make.remove(makes[id], id);
+            model.remove(models[id], id);
+            for (String gram : licensePlateGrams(licensePlate)) {
+                Postings postings = licensePlateGrams.get(gram);
+                postings.remove(id);
+                if (postings.size == 0) {
+                    licensePlateGrams.remove(gram);
+                }
+            }
+            documentCount--;
+        }
+
+        private static Set<String> licensePlateGrams(String licensePlate) {
+            Set<String> grams = new HashSet<>();
+            if (licensePlate.isEmpty()) {
+                return grams;
+            }
+            grams.add(EXACT_MARKER + licensePlate);
+            for (int length = 1; length < GRAM_LENGTH && length <= licensePlate.length(); length++) {
+                grams.add(PREFIX_MARKER + licensePlate.substring(0, length));
+            }
+            for (int i = 0; i + GRAM_LENGTH <= licensePlate.length(); i++) {
+                grams.add(licensePlate.substring(i, i + GRAM_LENGTH));
+            }
+            return grams;
+        }
+
+        private Hits search(List<String> terms, int offset, int limit) {
+            if (terms.isEmpty()) {
+                return new Hits(List.of(), 0);
+            }
+            List<Matches> termMatches = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                termMatches.add(Matches.union(Matches.union(matchLicensePlate(term), make.match(term)), model.match(term)));
+            }
+            termMatches.sort(Comparator.comparingInt(candidates -> candidates.size));
+            Matches matches = termMatches.get(0);
+            for (int i = 1; i < termMatches.size() && matches.size > 0; i++) {
+                matches = Matches.intersection(matches, termMatches.get(i));
+            }
+            if (terms.size() > 1) {
+                matches = Matches.union(matches, matchLicensePlate(String.join("", terms)).scaled(terms.size()));
+            }
+
+            int capacity = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(capacity, matches.size) + 1, Hit.BEST_FIRST.reversed());
+            for (int i = 0; i < matches.size; i++) {
+                int score = matches.score(i);
+                if (top.size() < capacity) {
+                    top.add(new Hit(matches.ids[i], score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Hit(matches.ids[i], score));
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(Hit.BEST_FIRST);
+            return new Hits(ranked.stream().skip(offset).map(Hit::id).toList(), matches.size);
+        }
+
+        private Matches matchLicensePlate(String term) {
+            if (term.length() < GRAM_LENGTH) {
+                Postings prefixed = licensePlateGrams.get(PREFIX_MARKER + term);
+                if (prefixed == null) {
+                    return Matches.NONE;
+                }
+                Postings exact = licensePlateGrams.get(EXACT_MARKER + term);
+                Matches prefixMatches = new Matches(prefixed.ids, null, 2 * LICENSE_PLATE_WEIGHT, prefixed.size);
+                return exact == null ? prefixMatches
+                        : Matches.union(prefixMatches, new Matches(exact.ids, null, 4 * LICENSE_PLATE_WEIGHT, exact.size));
+            }
+
+            List<Postings> required = new ArrayList<>();
+            for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                Postings postings = licensePlateGrams.get(term.substring(i, i + GRAM_LENGTH));
+                if (postings == null) {
+                    return Matches.NONE;
+                }
+                required.add(postings);
+            }
+            required.sort(Comparator.comparingInt(postings -> postings.size));
+
+            Postings smallest = required.get(0);
+            int[] ids = Arrays.copyOf(smallest.ids, smallest.size);
+            int size = ids.length;
+            for (int i = 1; i < required.size() && size > 0; i++) {
+                size = intersect(ids, size, required.get(i));
+            }
+            int[] scores = new int[size];
+            int matched = 0;
+            for (int i = 0; i < size; i++) {
+                int score = score(licensePlates[ids[i]], term, LICENSE_PLATE_WEIGHT);
+                if (score > 0) {
+                    ids[matched] = ids[i];
+                    scores[matched++] = score;
+                }
+            }
+            return new Matches(ids, scores, 0, matched);
+        }
+
+        private static int intersect(int[] candidates, int candidateCount, Postings other) {
+            int kept = 0;
+            if (other.size > candidateCount * 16L) {
+                for (int i = 0; i < candidateCount; i++) {
+                    if (other.contains(candidates[i])) {
+                        candidates[kept++] = candidates[i];
+                    }
+                }
+                return kept;
+            }
+            int j = 0;
+            for (int i = 0; i < candidateCount && j < other.size; i++) {
+                while (j < other.size && other.ids[j] < candidates[i]) {
+                    j++;
+                }
+                if (j < other.size && other.ids[j] == candidates[i]) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            return kept;
+        }
+    }
+}
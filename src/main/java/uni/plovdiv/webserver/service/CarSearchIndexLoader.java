@@ -0,0 +1,25 @@
+package uni.plovdiv.webserver.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.repository.CarBatchRepository;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CarSearchIndexLoader {
+
+    private final CarBatchRepository carBatchRepository;
+
+    private final CarSearchIndex carSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startedAt = System.nanoTime();
+        carSearchIndex.rebuild(carBatchRepository::forEachView);
+        log.info("Indexed {} cars for search in {} ms", carSearchIndex.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
@@ -3,19 +3,30 @@ package uni.plovdiv.webserver.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uni.plovdiv.webserver.dto.car.CarListingDTO;
+import uni.plovdiv.webserver.dto.car.CarSearchPageDTO;
+import uni.plovdiv.webserver.dto.car.CarSummaryDTO;
 import uni.plovdiv.webserver.dto.car.CreateCarDTO;
 import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
 import uni.plovdiv.webserver.dto.car.UpdateCarDTO;
 import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
 import uni.plovdiv.webserver.exception.CarDoesNotExistException;
 import uni.plovdiv.webserver.exception.GarageDoesNotExistException;
+import uni.plovdiv.webserver.exception.RequestValidationException;
 import uni.plovdiv.webserver.model.Car;
 import uni.plovdiv.webserver.model.Garage;
 import uni.plovdiv.webserver.repository.CarRepository;
 import uni.plovdiv.webserver.repository.GarageRepository;
+import uni.plovdiv.webserver.repository.projection.CarGarageView;
+import uni.plovdiv.webserver.repository.projection.CarView;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -23,14 +34,104 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CarService {
 
+    private static final int GARAGE_LOOKUP_BATCH_SIZE = 1000;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private static final int MAX_SEARCH_WINDOW = 10_000;
+
     private final CarRepository carRepository;
 
     private final GarageRepository garageRepository;
 
+    private final GarageCache garageCache;
+
+    private final EntityVersionCache entityVersionCache;
+
+    private final CarSearchIndex carSearchIndex;
+
+    private final MaintenanceService maintenanceService;
+
     public List<ResponseCarDTO> findAll(String carMake, Integer garageId, Integer fromYear, Integer toYear) {
-        return carRepository.findByMakeAndGaragesIdAndProductionYear(carMake, garageId, fromYear, toYear).stream()
-                .map(this::mapToResponseCarDTO)
+        List<CarView> cars = carRepository.findViewsByMakeAndGaragesIdAndProductionYear(carMake, garageId, fromYear, toYear);
+        return mapToResponseCarDTOs(cars);
+    }
+
+    private List<ResponseCarDTO> mapToResponseCarDTOs(List<CarView> cars) {
+        Map<Integer, List<ResponseGarageDTO>> garagesByCarId = findGaragesByCarId(cars.stream().map(CarView::id).toList());
+        return cars.stream()
+                .map(car -> new ResponseCarDTO(
+                        car.id(),
+                        car.make(),
+                        car.model(),
+                        car.productionYear(),
+                        car.licensePlate(),
+                        garagesByCarId.getOrDefault(car.id(), List.of())))
+                .toList();
+    }
+
+    public CarSearchPageDTO search(String query, int page, int size) {
+        if (CarSearchIndex.tokenize(query).isEmpty()) {
+            throw new RequestValidationException("query must contain at least one letter or digit");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new RequestValidationException("size must be between 1 and %s".formatted(MAX_SEARCH_PAGE_SIZE));
+        }
+        if (page < 0 || (long) (page + 1) * size > MAX_SEARCH_WINDOW) {
+            throw new RequestValidationException("page must be between 0 and %s for size %s".formatted(MAX_SEARCH_WINDOW / size - 1, size));
+        }
+
+        CarSearchIndex.Hits hits = carSearchIndex.search(query, page * size, size);
+        Map<Integer, CarView> carsById = carRepository.findViewsByIds(hits.ids()).stream()
+                .collect(Collectors.toMap(CarView::id, car -> car));
+        List<CarView> cars = hits.ids().stream()
+                .map(carsById::get)
+                .filter(Objects::nonNull)
                 .toList();
+        return new CarSearchPageDTO(mapToResponseCarDTOs(cars), page, size, hits.total());
+    }
+
+    public CarListingDTO findAllNormalized(String carMake, Integer garageId, Integer fromYear, Integer toYear) {
+        List<CarView> cars = carRepository.findViewsByMakeAndGaragesIdAndProductionYear(carMake, garageId, fromYear, toYear);
+        List<CarGarageView> carGarages = findCarGarages(cars.stream().map(CarView::id).toList());
+        Map<Integer, ResponseGarageDTO> garagesById = garageCache.getAllById(carGarages.stream().map(CarGarageView::garageId).collect(Collectors.toSet()));
+
+        Map<Integer, List<Integer>> garageIdsByCarId = new HashMap<>(cars.size() * 4 / 3 + 1);
+        carGarages.forEach(carGarage -> garageIdsByCarId
+                .computeIfAbsent(carGarage.carId(), carId -> new ArrayList<>(1))
+                .add(carGarage.garageId()));
+        List<CarSummaryDTO> carSummaries = new ArrayList<>(cars.size());
+        cars.forEach(car -> carSummaries.add(new CarSummaryDTO(
+                car.id(),
+                car.make(),
+                car.model(),
+                car.productionYear(),
+                car.licensePlate(),
+                garageIdsByCarId.getOrDefault(car.id(), List.of()))));
+        List<ResponseGarageDTO> garages = garagesById.values().stream()
+                .sorted(Comparator.comparing(ResponseGarageDTO::id))
+                .toList();
+        return new CarListingDTO(carSummaries, garages);
+    }
+
+    private List<CarGarageView> findCarGarages(List<Integer> carIds) {
+        List<CarGarageView> carGarages = new ArrayList<>(carIds.size());
+        for (int from = 0; from < carIds.size(); from += GARAGE_LOOKUP_BATCH_SIZE) {
+            List<Integer> batch = carIds.subList(from, Math.min(from + GARAGE_LOOKUP_BATCH_SIZE, carIds.size()));
+            carGarages.addAll(carRepository.findGarageViewsByCarIds(batch));
+        }
+        return carGarages;
+    }
+
+    private Map<Integer, List<ResponseGarageDTO>> findGaragesByCarId(List<Integer> carIds) {
+        List<CarGarageView> carGarages = findCarGarages(carIds);
+        Map<Integer, ResponseGarageDTO> garagesById = garageCache.getAllById(carGarages.stream().map(CarGarageView::garageId).collect(Collectors.toSet()));
+
+        Map<Integer, List<ResponseGarageDTO>> garagesByCarId = new HashMap<>();
+        carGarages.forEach(carGarage -> garagesByCarId
+                .computeIfAbsent(carGarage.carId(), carId -> new ArrayList<>())
+                .add(garagesById.get(carGarage.garageId())));
+        return garagesByCarId;
     }
 
     public ResponseCarDTO findById(Integer id) {
@@ -38,6 +139,10 @@ public class CarService {
         return mapToResponseCarDTO(car);
     }
 
+    public String getETag(Integer id) {
+        return entityVersionCache.getCarETag(id);
+    }
+
     @Transactional
     public ResponseCarDTO createCar(CreateCarDTO dto) {
         Set<Garage> garages = findGarages(dto.garageIds());
@@ -48,6 +153,8 @@ public class CarService {
         car.setLicensePlate(dto.licensePlate());
         car.setGarages(garages);
         carRepository.save(car);
+        entityVersionCache.carChanged(car);
+        carSearchIndex.carChanged(car);
         return mapToResponseCarDTO(car);
     }
 
@@ -75,6 +182,8 @@ public class CarService {
             car.setGarages(findGarages(dto.garageIds()));
         }
 
+        entityVersionCache.carChanged(car);
+        carSearchIndex.carChanged(car);
         return mapToResponseCarDTO(car);
     }
 
@@ -98,13 +207,11 @@ public class CarService {
     @Transactional
     public boolean deleteCar(Integer id) {
         Car car = carRepository.findById(id).orElseThrow(() -> new CarDoesNotExistException(id));
-        try {
-            car.getGarages().forEach(garage -> garage.getCars().remove(car));
-            carRepository.delete(car);
-            return true;
-        } catch (Exception exception) {
-            return false;
-        }
+        car.setDeleted(true);
+        maintenanceService.releaseMaintenanceOfCar(id);
+        entityVersionCache.carDeleted(id);
+        carSearchIndex.carDeleted(id);
+        return true;
     }
 
     private ResponseCarDTO mapToResponseCarDTO(Car car) {
@@ -116,12 +223,7 @@ public class CarService {
                 car.getLicensePlate(),
                 car.getGarages()
                         .stream()
-                        .map(garage -> new ResponseGarageDTO(
-                                garage.getId(),
-                                garage.getName(),
-                                garage.getLocation(),
-                                garage.getCity(),
-                                garage.getCapacity()))
+                        .map(garageCache::mapToResponseGarageDTO)
                         .toList()
         );
     }
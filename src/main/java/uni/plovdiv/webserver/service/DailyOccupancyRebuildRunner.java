@@ -0,0 +1,33 @@
+package uni.plovdiv.webserver.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.repository.GarageDailyOccupancyRepository;
+import uni.plovdiv.webserver.repository.MaintenanceRepository;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyOccupancyRebuildRunner implements ApplicationRunner {
+
+    private static final String REBUILD_OPTION = "rebuild-occupancy";
+
+    private final GarageService garageService;
+
+    private final GarageDailyOccupancyRepository occupancyRepository;
+
+    private final MaintenanceRepository maintenanceRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean requested = args.containsOption(REBUILD_OPTION);
+        boolean ledgerMissing = occupancyRepository.count() == 0 && maintenanceRepository.count() > 0;
+        if (requested || ledgerMissing) {
+            int rows = garageService.rebuildDailyOccupancy();
+            log.info("Rebuilt daily occupancy from maintenance table: {} garage days", rows);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package uni.plovdiv.webserver.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.exception.CarDoesNotExistException;
+import uni.plovdiv.webserver.exception.GarageDoesNotExistException;
+import uni.plovdiv.webserver.exception.MaintenanceDoesNotExistException;
+import uni.plovdiv.webserver.model.Car;
+import uni.plovdiv.webserver.model.Garage;
+import uni.plovdiv.webserver.model.Maintenance;
+import uni.plovdiv.webserver.repository.CarRepository;
+import uni.plovdiv.webserver.repository.GarageRepository;
+import uni.plovdiv.webserver.repository.MaintenanceRepository;
+import uni.plovdiv.webserver.repository.projection.CarVersionView;
+import uni.plovdiv.webserver.repository.projection.MaintenanceVersionView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class EntityVersionCache {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final GarageRepository garageRepository;
+
+    private final CarRepository carRepository;
+
+    private final MaintenanceRepository maintenanceRepository;
+
+    private final GarageCache garageCache;
+
+    private final Cache<Integer, Long> garageVersions;
+
+    private final Cache<Integer, CarVersion> carVersions;
+
+    private final Cache<Integer, MaintenanceVersionView> maintenanceVersions;
+
+    public EntityVersionCache(GarageRepository garageRepository,
+                              CarRepository carRepository,
+                              MaintenanceRepository maintenanceRepository,
+                              GarageCache garageCache,
+                              @Value("${entity-version.cache.maximum-size}") long maximumSize,
+                              @Value("${entity-version.cache.expire-after-write}") Duration expireAfterWrite) {
+        this.garageRepository = garageRepository;
+        this.carRepository = carRepository;
+        this.maintenanceRepository = maintenanceRepository;
+        this.garageCache = garageCache;
+        this.garageVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.carVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.maintenanceVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public String getGarageListETag() {
+        return "garages-%s.%d".formatted(epoch, garageCache.getVersion());
+    }
+
+    public String getGarageETag(Integer id) {
+        return "garage-%d.%d".formatted(id, getGarageVersion(id));
+    }
+
+    public String getCarETag(Integer id) {
+        CarVersion carVersion = getCarVersion(id);
+        StringBuilder etag = new StringBuilder("car-%d.%d".formatted(id, carVersion.version()));
+        for (Integer garageId : carVersion.garageIds()) {
+            etag.append("-%d.%d".formatted(garageId, getGarageVersion(garageId)));
+        }
+        return etag.toString();
+    }
+
+    public String getMaintenanceETag(Integer id) {
+        MaintenanceVersionView maintenanceVersion = maintenanceVersions.get(id, maintenanceId -> maintenanceRepository.findVersionViewById(maintenanceId)
+                .orElseThrow(() -> new MaintenanceDoesNotExistException(maintenanceId)));
+        return "maintenance-%d.%d-%d.%d-%d.%d".formatted(id, maintenanceVersion.version(),
+                maintenanceVersion.carId(), getCarVersion(maintenanceVersion.carId()).version(),
+                maintenanceVersion.garageId(), getGarageVersion(maintenanceVersion.garageId()));
+    }
+
+    public void garageChanged(Garage garage) {
+        TransactionCallbacks.afterCommit(() -> garageVersions.put(garage.getId(), garage.getVersion()));
+    }
+
+    public void garageDeleted(Integer id) {
+        TransactionCallbacks.afterCommit(() -> {
+            garageVersions.invalidate(id);
+            carVersions.invalidateAll();
+        });
+    }
+
+    public void carChanged(Car car) {
+        List<Integer> garageIds = car.getGarages().stream().map(Garage::getId).sorted().toList();
+        TransactionCallbacks.afterCommit(() -> carVersions.put(car.getId(), new CarVersion(car.getVersion(), garageIds)));
+    }
+
+    public void carDeleted(Integer id) {
+        TransactionCallbacks.afterCommit(() -> carVersions.invalidate(id));
+    }
+
+    public void maintenanceChanged(Maintenance maintenance) {
+        Integer carId = maintenance.getCar().getId();
+        Integer garageId = maintenance.getGarage().getId();
+        TransactionCallbacks.afterCommit(() -> maintenanceVersions.put(maintenance.getId(),
+                new MaintenanceVersionView(maintenance.getVersion(), carId, garageId)));
+    }
+
+    public void maintenanceDeleted(Integer id) {
+        TransactionCallbacks.afterCommit(() -> maintenanceVersions.invalidate(id));
+    }
+
+    private long getGarageVersion(Integer id) {
+        return garageVersions.get(id, garageId -> garageRepository.findVersionById(garageId)
+                .orElseThrow(() -> new GarageDoesNotExistException(garageId)));
+    }
+
+    private CarVersion getCarVersion(Integer id) {
+        return carVersions.get(id, carId -> {
+            List<CarVersionView> views = carRepository.findVersionViewsById(carId);
+            if (views.isEmpty()) {
+                throw new CarDoesNotExistException(carId);
+            }
+            return new CarVersion(views.get(0).version(), views.stream()
+                    .map(CarVersionView::garageId)
+                    .filter(Objects::nonNull)
+                    .toList());
+        });
+    }
+
+    private record CarVersion(long version, List<Integer> garageIds) {
+    }
+}
@@ -0,0 +1,224 @@
+package uni.plovdiv.webserver.service;
+
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uni.plovdiv.webserver.dto.garage.DailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.GarageDailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.GarageMonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.dto.maintenance.MonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.dto.maintenance.YearMonthDTO;
+import uni.plovdiv.webserver.exception.RequestValidationException;
+import uni.plovdiv.webserver.repository.GarageDailyOccupancyRepository;
+import uni.plovdiv.webserver.repository.projection.GarageOccupancyView;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+
+@Service
+public class FleetReportService {
+
+    private static final int MAX_REPORT_DAYS = 366;
+
+    private static final int MAX_REPORT_MONTHS = 120;
+
+    private final GarageCache garageCache;
+
+    private final GarageOccupancyCalendar occupancyCalendar;
+
+    private final GarageDailyOccupancyRepository occupancyRepository;
+
+    private final int garagesPerTask;
+
+    private final Semaphore connections;
+
+    private final ForkJoinPool pool;
+
+    public FleetReportService(GarageCache garageCache, GarageOccupancyCalendar occupancyCalendar,
+                              GarageDailyOccupancyRepository occupancyRepository,
+                              @Value("${fleet.reports.parallelism}") int parallelism,
+                              @Value("${fleet.reports.max-connections}") int maxConnections,
+                              @Value("${fleet.reports.garages-per-task}") int garagesPerTask) {
+        this.garageCache = garageCache;
+        this.occupancyCalendar = occupancyCalendar;
+        this.occupancyRepository = occupancyRepository;
+        this.garagesPerTask = garagesPerTask;
+        this.connections = new Semaphore(maxConnections);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("fleet-reports-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    public List<GarageDailyAvailabilityReportDTO> getDailyAvailabilityReport(@Nullable String city, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_REPORT_DAYS) {
+            throw new RequestValidationException("date range must be between 1 and %s days".formatted(MAX_REPORT_DAYS));
+        }
+        LocalDate[] dates = startDate.datesUntil(endDate.plusDays(1)).toArray(LocalDate[]::new);
+        return produceReports(city, startDate, endDate, (garage, dailyRequests) -> {
+            List<DailyAvailabilityReportDTO> report = new ArrayList<>(dates.length);
+            for (int day = 0; day < dates.length; day++) {
+                report.add(new DailyAvailabilityReportDTO(dates[day], dailyRequests[day], Math.max(garage.capacity() - dailyRequests[day], 0)));
+            }
+            return new GarageDailyAvailabilityReportDTO(garage.id(), garage.name(), report);
+        });
+    }
+
+    public List<GarageMonthlyRequestsReportDTO> getMonthlyRequestsReport(@Nullable String city, YearMonth startMonth, YearMonth endMonth) {
+        if (endMonth.isBefore(startMonth) || startMonth.until(endMonth, ChronoUnit.MONTHS) >= MAX_REPORT_MONTHS) {
+            throw new RequestValidationException("month range must be between 1 and %s months".formatted(MAX_REPORT_MONTHS));
+        }
+        int months = (int) startMonth.until(endMonth, ChronoUnit.MONTHS) + 1;
+        YearMonthDTO[] yearMonths = new YearMonthDTO[months];
+        int[] monthStarts = new int[months + 1];
+        for (int month = 0; month < months; month++) {
+            YearMonth yearMonth = startMonth.plusMonths(month);
+            yearMonths[month] = new YearMonthDTO(yearMonth.getYear(), yearMonth.getMonth().toString(), yearMonth.isLeapYear(), yearMonth.getMonthValue());
+            monthStarts[month + 1] = monthStarts[month] + yearMonth.lengthOfMonth();
+        }
+        return produceReports(city, startMonth.atDay(1), endMonth.atEndOfMonth(), (garage, dailyRequests) -> {
+            List<MonthlyRequestsReportDTO> report = new ArrayList<>(months);
+            for (int month = 0; month < months; month++) {
+                int requests = 0;
+                for (int day = monthStarts[month]; day < monthStarts[month + 1]; day++) {
+                    requests += dailyRequests[day];
+                }
+                report.add(new MonthlyRequestsReportDTO(yearMonths[month], requests));
+            }
+            return new GarageMonthlyRequestsReportDTO(garage.id(), garage.name(), report);
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private <T> List<T> produceReports(@Nullable String city, LocalDate startDate, LocalDate endDate,
+                                       BiFunction<ResponseGarageDTO, int[], T> reporter) {
+        ResponseGarageDTO[] garages = garageCache.getByCity(city).stream()
+                .sorted(Comparator.comparing(ResponseGarageDTO::id))
+                .toArray(ResponseGarageDTO[]::new);
+        Object[] reports = new Object[garages.length];
+        pool.invoke(new GarageReportTask(0, garages.length, (from, to) -> {
+            int[][] dailyRequests = findDailyRequests(garages, from, to, startDate, endDate);
+            for (int garage = from; garage < to; garage++) {
+                reports[garage] = reporter.apply(garages[garage], dailyRequests[garage - from]);
+            }
+        }));
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) Arrays.asList(reports);
+        return result;
+    }
+
+    private int[][] findDailyRequests(ResponseGarageDTO[] garages, int from, int to, LocalDate startDate, LocalDate endDate) {
+        int[][] dailyRequests = new int[to - from][];
+        for (int garage = from; garage < to; garage++) {
+            dailyRequests[garage - from] = occupancyCalendar.getDailyRequests(garages[garage].id(), startDate, endDate);
+            if (dailyRequests[garage - from] == null) {
+                return findStoredDailyRequests(garages, from, to, startDate, endDate);
+            }
+        }
+        return dailyRequests;
+    }
+
+    private int[][] findStoredDailyRequests(ResponseGarageDTO[] garages, int from, int to, LocalDate startDate, LocalDate endDate) {
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        int[][] dailyRequests = new int[to - from][days];
+        Map<Integer, int[]> requestsByGarageId = new HashMap<>();
+        for (int garage = from; garage < to; garage++) {
+            requestsByGarageId.put(garages[garage].id(), dailyRequests[garage - from]);
+        }
+        StoredOccupancyQuery query = new StoredOccupancyQuery(requestsByGarageId.keySet(), startDate, endDate);
+        try {
+            ForkJoinPool.managedBlock(query);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("fleet report was interrupted");
+        }
+        for (GarageOccupancyView view : query.views) {
+            requestsByGarageId.get(view.garageId())[(int) ChronoUnit.DAYS.between(startDate, view.scheduledDate())] = view.requests();
+        }
+        return dailyRequests;
+    }
+
+    private class StoredOccupancyQuery implements ForkJoinPool.ManagedBlocker {
+
+        private final Collection<Integer> garageIds;
+
+        private final LocalDate startDate;
+
+        private final LocalDate endDate;
+
+        private List<GarageOccupancyView> views;
+
+        private StoredOccupancyQuery(Collection<Integer> garageIds, LocalDate startDate, LocalDate endDate) {
+            this.garageIds = garageIds;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            connections.acquire();
+            try {
+                views = occupancyRepository.findOccupancyByGarageIds(garageIds, startDate, endDate);
+            } finally {
+                connections.release();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return views != null;
+        }
+    }
+
+    private interface GarageRangeReporter {
+
+        void report(int from, int to);
+    }
+
+    private class GarageReportTask extends RecursiveAction {
+
+        private final int from;
+
+        private final int to;
+
+        private final GarageRangeReporter reporter;
+
+        private GarageReportTask(int from, int to, GarageRangeReporter reporter) {
+            this.from = from;
+            this.to = to;
+            this.reporter = reporter;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= garagesPerTask) {
+                reporter.report(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new GarageReportTask(from, middle, reporter), new GarageReportTask(middle, to, reporter));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package uni.plovdiv.webserver.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.dto.garage.GarageCacheStatsDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.exception.GarageDoesNotExistException;
+import uni.plovdiv.webserver.model.Garage;
+import uni.plovdiv.webserver.repository.GarageRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+public class GarageCache {
+
+    private static final Optional<String> ALL_CITIES = Optional.empty();
+
+    private final GarageRepository garageRepository;
+
+    private final Cache<Integer, ResponseGarageDTO> garagesById;
+
+    private final Cache<Optional<String>, List<ResponseGarageDTO>> garagesByCity;
+
+    private final AtomicLong version = new AtomicLong();
+
+    public GarageCache(GarageRepository garageRepository,
+                       @Value("${garage.cache.maximum-size}") long maximumSize,
+                       @Value("${garage.cache.expire-after-write}") Duration expireAfterWrite) {
+        this.garageRepository = garageRepository;
+        this.garagesById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.garagesByCity = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public ResponseGarageDTO getById(Integer id) {
+        return garagesById.get(id, garageId -> mapToResponseGarageDTO(garageRepository.findById(garageId)
+                .orElseThrow(() -> new GarageDoesNotExistException(garageId))));
+    }
+
+    public Map<Integer, ResponseGarageDTO> getAllById(Collection<Integer> ids) {
+        return garagesById.getAll(ids, missingIds -> garageRepository.findAllById(List.copyOf(missingIds)).stream()
+                .collect(Collectors.toMap(Garage::getId, this::mapToResponseGarageDTO)));
+    }
+
+    public List<ResponseGarageDTO> getByCity(String city) {
+        return garagesByCity.get(Optional.ofNullable(city), key -> garageRepository.findByCity(city).stream()
+                .map(this::mapToResponseGarageDTO)
+                .toList());
+    }
+
+    public void invalidate(Integer id, String... cities) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (id != null) {
+                garagesById.invalidate(id);
+            }
+            for (String city : cities) {
+                if (city != null) {
+                    garagesByCity.invalidate(Optional.of(city));
+                }
+            }
+            garagesByCity.invalidate(ALL_CITIES);
+            version.incrementAndGet();
+        });
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public List<GarageCacheStatsDTO> stats() {
+        return List.of(mapToGarageCacheStatsDTO("garagesById", garagesById),
+                mapToGarageCacheStatsDTO("garagesByCity", garagesByCity));
+    }
+
+    public ResponseGarageDTO mapToResponseGarageDTO(Garage garage) {
+        return new ResponseGarageDTO(garage.getId(), garage.getName(), garage.getLocation(), garage.getCity(), garage.getCapacity());
+    }
+
+    private GarageCacheStatsDTO mapToGarageCacheStatsDTO(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new GarageCacheStatsDTO(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+}
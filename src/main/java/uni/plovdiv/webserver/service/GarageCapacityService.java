@@ -0,0 +1,142 @@
+package uni.plovdiv.webserver.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uni.plovdiv.webserver.exception.RequestValidationException;
+import uni.plovdiv.webserver.model.GarageDailyOccupancy;
+import uni.plovdiv.webserver.repository.GarageDailyOccupancyRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Service
+@RequiredArgsConstructor
+public class GarageCapacityService {
+
+    private static final String CREATE_LEDGER_ROW_IF_MISSING = """
+            MERGE INTO garage_daily_occupancy o
+            USING (SELECT CAST(? AS INTEGER) AS garage_id, CAST(? AS DATE) AS scheduled_date) s
+            ON o.garage_id = s.garage_id AND o.scheduled_date = s.scheduled_date
+            WHEN NOT MATCHED THEN INSERT (garage_id, scheduled_date, requests, version)
+            VALUES (s.garage_id, s.scheduled_date,
+                    (SELECT COUNT(*) FROM maintenance m WHERE m.garage_id = s.garage_id AND m.scheduled_date = s.scheduled_date
+                     AND m.car_id NOT IN (SELECT c.id FROM car c WHERE c.deleted = TRUE)),
+                    0)
+            """;
+
+    private static final String LOCK_LEDGER_ROW = """
+            SELECT requests FROM garage_daily_occupancy
+            WHERE garage_id = ? AND scheduled_date = ?
+            FOR UPDATE
+            """;
+
+    private static final String COUNT_LIVE_MAINTENANCE = """
+            SELECT COUNT(*) FROM maintenance m
+            WHERE m.garage_id = ? AND m.scheduled_date = ?
+            AND m.car_id NOT IN (SELECT c.id FROM car c WHERE c.deleted = TRUE)
+            """;
+
+    private final GarageDailyOccupancyRepository occupancyRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final GarageOccupancyCalendar occupancyCalendar;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Integer garageId, Integer capacity, LocalDate scheduledDate) {
+        occupancyCalendar.joinTransaction();
+        int reserved = occupancyRepository.incrementIfBelowCapacity(garageId, scheduledDate, capacity);
+        if (reserved == 0 && createLedgerRowIfMissing(garageId, scheduledDate)) {
+            reserved = occupancyRepository.incrementIfBelowCapacity(garageId, scheduledDate, capacity);
+        }
+        if (reserved == 0) {
+            throw new RequestValidationException("garage with ID %s does not have capacity for date %s".formatted(garageId, scheduledDate));
+        }
+        occupancyCalendar.record(garageId, scheduledDate, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<LocalDate, Integer> reserveUpTo(Integer garageId, Integer capacity, Map<LocalDate, Integer> requestedByDate) {
+        occupancyCalendar.joinTransaction();
+        lockOrCreateLedgerRows(garageId, requestedByDate.keySet());
+        Map<LocalDate, Integer> grantedByDate = new HashMap<>();
+        for (GarageDailyOccupancy occupancy : occupancyRepository.findAllForUpdate(garageId, requestedByDate.keySet())) {
+            LocalDate scheduledDate = occupancy.getId().getScheduledDate();
+            int granted = Math.max(Math.min(requestedByDate.get(scheduledDate), capacity - occupancy.getRequests()), 0);
+            occupancy.setRequests(occupancy.getRequests() + granted);
+            grantedByDate.put(scheduledDate, granted);
+            if (granted > 0) {
+                occupancyCalendar.record(garageId, scheduledDate, granted);
+            }
+        }
+        return grantedByDate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Integer garageId, LocalDate scheduledDate) {
+        occupancyCalendar.joinTransaction();
+        if (occupancyRepository.decrement(garageId, scheduledDate) > 0) {
+            occupancyCalendar.record(garageId, scheduledDate, -1);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Integer garageId, Collection<LocalDate> scheduledDates) {
+        occupancyCalendar.joinTransaction();
+        occupancyRepository.findAllForUpdate(garageId, scheduledDates);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<LocalDate, Integer> releaseUpTo(Integer garageId, Map<LocalDate, Integer> releasedByDate) {
+        occupancyCalendar.joinTransaction();
+        Map<LocalDate, Integer> grantedByDate = new HashMap<>();
+        for (GarageDailyOccupancy occupancy : occupancyRepository.findAllForUpdate(garageId, releasedByDate.keySet())) {
+            LocalDate scheduledDate = occupancy.getId().getScheduledDate();
+            int released = Math.min(releasedByDate.get(scheduledDate), occupancy.getRequests());
+            if (released > 0) {
+                occupancy.setRequests(occupancy.getRequests() - released);
+                occupancyCalendar.record(garageId, scheduledDate, -released);
+                grantedByDate.put(scheduledDate, released);
+            }
+        }
+        return grantedByDate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<LocalDate, Integer> recount(Integer garageId, Collection<LocalDate> scheduledDates) {
+        occupancyCalendar.joinTransaction();
+        Map<LocalDate, Integer> releasedByDate = new HashMap<>();
+        for (GarageDailyOccupancy occupancy : occupancyRepository.findAllForUpdate(garageId, scheduledDates)) {
+            LocalDate scheduledDate = occupancy.getId().getScheduledDate();
+            int requests = jdbcTemplate.queryForObject(COUNT_LIVE_MAINTENANCE, Integer.class, garageId, scheduledDate);
+            if (requests != occupancy.getRequests()) {
+                occupancyCalendar.record(garageId, scheduledDate, requests - occupancy.getRequests());
+                releasedByDate.put(scheduledDate, occupancy.getRequests() - requests);
+                occupancy.setRequests(requests);
+            }
+        }
+        return releasedByDate;
+    }
+
+    private boolean createLedgerRowIfMissing(Integer garageId, LocalDate scheduledDate) {
+        try {
+            return jdbcTemplate.update(CREATE_LEDGER_ROW_IF_MISSING, garageId, scheduledDate) > 0;
+        } catch (DuplicateKeyException exception) {
+            return true;
+        }
+    }
+
+    private void lockOrCreateLedgerRows(Integer garageId, Collection<LocalDate> scheduledDates) {
+        for (LocalDate scheduledDate : new TreeSet<>(scheduledDates)) {
+            createLedgerRowIfMissing(garageId, scheduledDate);
+            jdbcTemplate.queryForList(LOCK_LEDGER_ROW, Integer.class, garageId, scheduledDate);
+        }
+    }
+}
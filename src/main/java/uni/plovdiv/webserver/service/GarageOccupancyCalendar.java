@@ -0,0 +1,358 @@
+package uni.plovdiv.webserver.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uni.plovdiv.webserver.repository.GarageDailyOccupancyRepository;
+import uni.plovdiv.webserver.repository.projection.GarageOccupancyView;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class GarageOccupancyCalendar {
+
+    public static final int NOT_COVERED = -1;
+
+    private static final int SLIDE_DAYS = 32;
+
+    private final GarageDailyOccupancyRepository occupancyRepository;
+
+    private final int pastDays;
+
+    private final int futureDays;
+
+    private final Duration loadTimeout;
+
+    private final TransactionTemplate loadTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ReentrantReadWriteLock mutationGate = new ReentrantReadWriteLock();
+
+    private final AtomicBoolean sliding = new AtomicBoolean();
+
+    private GarageDays[] garages = new GarageDays[0];
+
+    private long firstDay;
+
+    private int days;
+
+    private boolean loaded;
+
+    public GarageOccupancyCalendar(GarageDailyOccupancyRepository occupancyRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${occupancy.calendar.past-days}") int pastDays,
+                                   @Value("${occupancy.calendar.future-days}") int futureDays,
+                                   @Value("${occupancy.calendar.load-timeout}") Duration loadTimeout) {
+        this.occupancyRepository = occupancyRepository;
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+        this.loadTimeout = loadTimeout;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    public void joinTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive() && TransactionSynchronizationManager.getResource(this) == null) {
+            mutationGate.readLock().lock();
+            PendingDeltas pendingDeltas = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, pendingDeltas);
+            TransactionSynchronizationManager.registerSynchronization(pendingDeltas);
+        }
+    }
+
+    public void record(int garageId, LocalDate scheduledDate, int delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(garageId, scheduledDate.toEpochDay(), delta);
+            return;
+        }
+        joinTransaction();
+        ((PendingDeltas) TransactionSynchronizationManager.getResource(this)).add(garageId, scheduledDate.toEpochDay(), delta);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        load();
+    }
+
+    public boolean load() {
+        return refresh(false);
+    }
+
+    public int getRequests(int garageId, LocalDate scheduledDate) {
+        return getRequests(garageId, scheduledDate, scheduledDate);
+    }
+
+    public int getRequests(int garageId, LocalDate startDate, LocalDate endDate) {
+        slideIfDue();
+        lock.readLock().lock();
+        try {
+            if (!covers(startDate, endDate)) {
+                return NOT_COVERED;
+            }
+            GarageDays garageDays = garageId < garages.length ? garages[garageId] : null;
+            int from = (int) (startDate.toEpochDay() - firstDay);
+            int to = (int) (endDate.toEpochDay() - firstDay);
+            return garageDays == null ? 0 : from == to ? garageDays.requests[from] : garageDays.sum(from, to + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int[] getDailyRequests(int garageId, LocalDate startDate, LocalDate endDate) {
+        slideIfDue();
+        lock.readLock().lock();
+        try {
+            if (!covers(startDate, endDate)) {
+                return null;
+            }
+            int from = (int) (startDate.toEpochDay() - firstDay);
+            int to = (int) (endDate.toEpochDay() - firstDay);
+            GarageDays garageDays = garageId < garages.length ? garages[garageId] : null;
+            return garageDays == null ? new int[to - from + 1] : Arrays.copyOfRange(garageDays.requests, from, to + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int[] getMonthlyRequests(int garageId, YearMonth startMonth, YearMonth endMonth) {
+        slideIfDue();
+        lock.readLock().lock();
+        try {
+            if (!covers(startMonth.atDay(1), endMonth.atEndOfMonth())) {
+                return null;
+            }
+            int[] monthlyRequests = new int[(int) startMonth.until(endMonth, ChronoUnit.MONTHS) + 1];
+            GarageDays garageDays = garageId < garages.length ? garages[garageId] : null;
+            if (garageDays != null) {
+                YearMonth month = startMonth;
+                for (int i = 0; i < monthlyRequests.length; i++, month = month.plusMonths(1)) {
+                    monthlyRequests[i] = garageDays.sum((int) (month.atDay(1).toEpochDay() - firstDay),
+                            (int) (month.atEndOfMonth().toEpochDay() - firstDay) + 1);
+                }
+            }
+            return monthlyRequests;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getFootprintBytes() {
+        lock.readLock().lock();
+        try {
+            return Arrays.stream(garages)
+                    .filter(Objects::nonNull)
+                    .mapToLong(garageDays -> (garageDays.requests.length + garageDays.tree.length) * (long) Integer.BYTES)
+                    .sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean covers(LocalDate startDate, LocalDate endDate) {
+        return loaded && !endDate.isBefore(startDate)
+                && startDate.toEpochDay() >= firstDay && endDate.toEpochDay() < firstDay + days;
+    }
+
+    private void slideIfDue() {
+        lock.readLock().lock();
+        boolean due;
+        try {
+            due = loaded && LocalDate.now().toEpochDay() - pastDays - firstDay >= SLIDE_DAYS;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (due && mutationGate.getReadHoldCount() == 0 && sliding.compareAndSet(false, true)) {
+            try {
+                refresh(true);
+            } finally {
+                sliding.set(false);
+            }
+        }
+    }
+
+    private boolean refresh(boolean slide) {
+        return Boolean.TRUE.equals(loadTransaction.execute(status -> refreshInTransaction(slide)));
+    }
+
+    private boolean refreshInTransaction(boolean slide) {
+        try {
+            if (!mutationGate.writeLock().tryLock(loadTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Occupancy calendar {} skipped: bookings still in flight after {}", slide ? "slide" : "load", loadTimeout);
+                return false;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            long startedAt = System.nanoTime();
+            long newFirstDay = LocalDate.now().toEpochDay() - pastDays;
+            int newDays = pastDays + futureDays + SLIDE_DAYS;
+            GarageDays[] current = garages;
+            long loadFrom = newFirstDay;
+            GarageDays[] refreshed = new GarageDays[current.length];
+            if (slide) {
+                long copyFrom = Math.max(newFirstDay, firstDay);
+                long copyTo = Math.min(newFirstDay + newDays, firstDay + days);
+                for (int garageId = 0; garageId < current.length && copyFrom < copyTo; garageId++) {
+                    if (current[garageId] != null) {
+                        refreshed[garageId] = new GarageDays(newDays);
+                        System.arraycopy(current[garageId].requests, (int) (copyFrom - firstDay),
+                                refreshed[garageId].requests, (int) (copyFrom - newFirstDay), (int) (copyTo - copyFrom));
+                    }
+                }
+                loadFrom = copyFrom < copyTo ? Math.max(copyTo, newFirstDay) : newFirstDay;
+            }
+            for (GarageOccupancyView view : occupancyRepository.findOccupancyBetween(LocalDate.ofEpochDay(loadFrom), LocalDate.ofEpochDay(newFirstDay + newDays - 1))) {
+                if (view.garageId() >= refreshed.length) {
+                    refreshed = Arrays.copyOf(refreshed, Math.max(view.garageId() + 1, refreshed.length * 2));
+                }
+                if (refreshed[view.garageId()] == null) {
+                    refreshed[view.garageId()] = new GarageDays(newDays);
+                }
+                refreshed[view.garageId()].requests[(int) (view.scheduledDate().toEpochDay() - newFirstDay)] = view.requests();
+            }
+            int garageCount = 0;
+            for (GarageDays garageDays : refreshed) {
+                if (garageDays != null) {
+                    garageDays.buildTree();
+                    garageCount++;
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                garages = refreshed;
+                firstDay = newFirstDay;
+                days = newDays;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Occupancy calendar {} {} garages from {} to {} in {} ms", slide ? "slid" : "loaded", garageCount,
+                    LocalDate.ofEpochDay(newFirstDay), LocalDate.ofEpochDay(newFirstDay + newDays - 1), (System.nanoTime() - startedAt) / 1_000_000);
+            return true;
+        } finally {
+            mutationGate.writeLock().unlock();
+        }
+    }
+
+    private void apply(int garageId, long epochDay, int delta) {
+        lock.writeLock().lock();
+        try {
+            int index = (int) (epochDay - firstDay);
+            if (!loaded || epochDay < firstDay || index >= days) {
+                return;
+            }
+            if (garageId >= garages.length) {
+                garages = Arrays.copyOf(garages, Math.max(garageId + 1, garages.length * 2));
+            }
+            if (garages[garageId] == null) {
+                garages[garageId] = new GarageDays(days);
+            }
+            garages[garageId].add(index, delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class GarageDays {
+
+        private final int[] requests;
+
+        private final int[] tree;
+
+        private GarageDays(int days) {
+            this.requests = new int[days];
+            this.tree = new int[days + 1];
+        }
+
+        private void buildTree() {
+            for (int i = 1; i < tree.length; i++) {
+                tree[i] += requests[i - 1];
+                int parent = i + (i & -i);
+                if (parent < tree.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        private void add(int index, int delta) {
+            requests[index] += delta;
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private int sum(int from, int to) {
+            return prefixSum(to) - prefixSum(from);
+        }
+
+        private int prefixSum(int length) {
+            int sum = 0;
+            for (int i = length; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+
+    private class PendingDeltas implements TransactionSynchronization {
+
+        private int[] garageIds = new int[4];
+
+        private long[] epochDays = new long[4];
+
+        private int[] deltas = new int[4];
+
+        private int size;
+
+        private void add(int garageId, long epochDay, int delta) {
+            if (size == deltas.length) {
+                garageIds = Arrays.copyOf(garageIds, size * 2);
+                epochDays = Arrays.copyOf(epochDays, size * 2);
+                deltas = Arrays.copyOf(deltas, size * 2);
+            }
+            garageIds[size] = garageId;
+            epochDays[size] = epochDay;
+            deltas[size++] = delta;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            for (int i = 0; i < size; i++) {
+                apply(garageIds[i], epochDays[i], deltas[i]);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(GarageOccupancyCalendar.this);
+            mutationGate.readLock().unlock();
+        }
+    }
+}
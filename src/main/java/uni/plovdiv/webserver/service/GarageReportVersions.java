@@ -0,0 +1,41 @@
+package uni.plovdiv.webserver.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class GarageReportVersions {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<Integer, Long> garageVersions = new ConcurrentHashMap<>();
+
+    private volatile long allGaragesVersion;
+
+    public long current() {
+        return sequence.get();
+    }
+
+    public boolean isCurrent(Integer garageId, long version) {
+        return allGaragesVersion <= version && garageVersions.getOrDefault(garageId, 0L) <= version;
+    }
+
+    public void garageChanged(Integer garageId) {
+        TransactionCallbacks.afterCommit(() -> garageVersions.merge(garageId, sequence.incrementAndGet(), Math::max));
+    }
+
+    public void allGaragesChanged() {
+        TransactionCallbacks.afterCommit(() -> allGaragesVersion = sequence.incrementAndGet());
+    }
+
+    @TransactionalEventListener
+    public void onMaintenanceChanged(MaintenanceChangedEvent event) {
+        if (!event.capacityDeltas().isEmpty()) {
+            garageVersions.merge(event.garageId(), sequence.incrementAndGet(), Math::max);
+        }
+    }
+}
@@ -4,18 +4,28 @@ import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uni.plovdiv.webserver.dto.garage.AvailableSlotDTO;
 import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
 import uni.plovdiv.webserver.dto.garage.DailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.GarageCacheStatsDTO;
 import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
 import uni.plovdiv.webserver.dto.garage.UpdateGarageDTO;
+import uni.plovdiv.webserver.exception.CarDoesNotExistException;
 import uni.plovdiv.webserver.exception.GarageDoesNotExistException;
+import uni.plovdiv.webserver.exception.RequestValidationException;
 import uni.plovdiv.webserver.model.Garage;
-import uni.plovdiv.webserver.model.Maintenance;
+import uni.plovdiv.webserver.repository.CarRepository;
+import uni.plovdiv.webserver.repository.GarageDailyOccupancyRepository;
 import uni.plovdiv.webserver.repository.GarageRepository;
-import uni.plovdiv.webserver.repository.MaintenanceRepository;
+import uni.plovdiv.webserver.repository.projection.CarGarageView;
+import uni.plovdiv.webserver.repository.projection.DailyRequestsCount;
+import uni.plovdiv.webserver.repository.projection.GarageOccupancyView;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,46 +34,155 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GarageService {
 
+    private static final int MAX_SEARCH_DAYS = 366;
+
+    private static final int MAX_SLOTS = 100;
+
     private final GarageRepository garageRepository;
 
-    private final MaintenanceRepository maintenanceRepository;
+    private final CarRepository carRepository;
+
+    private final GarageDailyOccupancyRepository occupancyRepository;
+
+    private final GarageCache garageCache;
+
+    private final EntityVersionCache entityVersionCache;
+
+    private final GarageOccupancyCalendar occupancyCalendar;
+
+    private final GarageReportVersions reportVersions;
 
     public List<ResponseGarageDTO> findAll(@Nullable String city) {
-        List<Garage> garages = garageRepository.findByCity(city);
-        return garages.stream()
-                .map(garage -> new ResponseGarageDTO(garage.getId(), garage.getName(), garage.getLocation(), garage.getCity(), garage.getCapacity()))
-                .toList();
+        return garageCache.getByCity(city);
     }
 
     public ResponseGarageDTO findById(Integer id) {
-        Garage garage = garageRepository.findById(id).orElseThrow(() -> new GarageDoesNotExistException(id));
-        return new ResponseGarageDTO(garage.getId(), garage.getName(), garage.getLocation(), garage.getCity(), garage.getCapacity());
+        return garageCache.getById(id);
+    }
+
+    public String getListETag() {
+        return entityVersionCache.getGarageListETag();
+    }
+
+    public String getETag(Integer id) {
+        return entityVersionCache.getGarageETag(id);
+    }
+
+    public List<GarageCacheStatsDTO> getCacheStats() {
+        return garageCache.stats();
     }
 
     @Transactional
     public List<DailyAvailabilityReportDTO> getDailyAvailabilityReport(Integer garageId, LocalDate startDate, LocalDate endDate) {
-        Garage garage = garageRepository.findById(garageId).orElseThrow(() -> new GarageDoesNotExistException(garageId));
-        Map<LocalDate, List<Maintenance>> maintenancesGroupedByScheduledDate = maintenanceRepository.findByGarageIdAndScheduledDateBetween(garageId, startDate, endDate).stream()
-                .collect(Collectors.groupingBy(Maintenance::getScheduledDate));
-        return getDailyAvailabilityReport(maintenancesGroupedByScheduledDate, startDate, endDate, garage);
+        ResponseGarageDTO garage = garageCache.getById(garageId);
+        int[] dailyRequests = occupancyCalendar.getDailyRequests(garageId, startDate, endDate);
+        if (dailyRequests != null) {
+            return getDailyAvailabilityReport(dailyRequests, startDate, garage);
+        }
+        Map<LocalDate, Integer> requestsByScheduledDate = occupancyRepository.findDailyRequests(garageId, startDate, endDate).stream()
+                .collect(Collectors.toMap(DailyRequestsCount::getScheduledDate, DailyRequestsCount::getRequests));
+        return getDailyAvailabilityReport(requestsByScheduledDate, startDate, endDate, garage);
     }
 
-    private List<DailyAvailabilityReportDTO> getDailyAvailabilityReport(Map<LocalDate, List<Maintenance>> maintenancesGroupedByScheduledDate, LocalDate startDate, LocalDate endDate, Garage garage) {
+    private List<DailyAvailabilityReportDTO> getDailyAvailabilityReport(int[] dailyRequests, LocalDate startDate, ResponseGarageDTO garage) {
+        List<DailyAvailabilityReportDTO> dailyAvailabilityReports = new ArrayList<>(dailyRequests.length);
+        for (int day = 0; day < dailyRequests.length; day++) {
+            int availableCapacity = Math.max(garage.capacity() - dailyRequests[day], 0);
+            dailyAvailabilityReports.add(new DailyAvailabilityReportDTO(startDate.plusDays(day), dailyRequests[day], availableCapacity));
+        }
+        return dailyAvailabilityReports;
+    }
+
+    private List<DailyAvailabilityReportDTO> getDailyAvailabilityReport(Map<LocalDate, Integer> requestsByScheduledDate, LocalDate startDate, LocalDate endDate, ResponseGarageDTO garage) {
         List<DailyAvailabilityReportDTO> dailyAvailabilityReports = new ArrayList<>();
         LocalDate currentDate = startDate;
         while (!currentDate.isAfter(endDate)) {
-            if (maintenancesGroupedByScheduledDate.containsKey(currentDate)) {
-                int maintenanceRequests = maintenancesGroupedByScheduledDate.get(currentDate).size();
-                int availableCapacity = garage.getCapacity();
+            if (requestsByScheduledDate.containsKey(currentDate)) {
+                int maintenanceRequests = requestsByScheduledDate.get(currentDate);
+                int availableCapacity = Math.max(garage.capacity() - maintenanceRequests, 0);
                 dailyAvailabilityReports.add(new DailyAvailabilityReportDTO(currentDate, maintenanceRequests, availableCapacity));
             } else {
-                dailyAvailabilityReports.add(new DailyAvailabilityReportDTO(currentDate, 0, garage.getCapacity()));
+                dailyAvailabilityReports.add(new DailyAvailabilityReportDTO(currentDate, 0, garage.capacity()));
             }
             currentDate = currentDate.plusDays(1);
         }
         return dailyAvailabilityReports;
     }
 
+    @Transactional(readOnly = true)
+    public List<AvailableSlotDTO> findEarliestAvailableSlots(String city, Integer carId, LocalDate startDate, LocalDate endDate, int limit) {
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_SEARCH_DAYS) {
+            throw new RequestValidationException("date range must be between 1 and %s days".formatted(MAX_SEARCH_DAYS));
+        }
+        if (limit < 1 || limit > MAX_SLOTS) {
+            throw new RequestValidationException("limit must be between 1 and %s".formatted(MAX_SLOTS));
+        }
+
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        Map<Integer, int[]> requestsByGarageId = findRegisteredGarageRequests(carId, city, startDate, endDate, days);
+        if (requestsByGarageId.isEmpty() && !carRepository.existsById(carId)) {
+            throw new CarDoesNotExistException(carId);
+        }
+
+        List<ResponseGarageDTO> garages = garageCache.getByCity(city).stream()
+                .filter(garage -> requestsByGarageId.containsKey(garage.id()))
+                .toList();
+        List<AvailableSlotDTO> slots = new ArrayList<>(limit);
+        for (int day = 0; day < days && slots.size() < limit; day++) {
+            LocalDate currentDate = startDate.plusDays(day);
+            List<AvailableSlotDTO> dailySlots = new ArrayList<>();
+            for (ResponseGarageDTO garage : garages) {
+                int availableCapacity = garage.capacity() - requestsByGarageId.get(garage.id())[day];
+                if (availableCapacity > 0) {
+                    dailySlots.add(new AvailableSlotDTO(garage.id(), garage.name(), currentDate, availableCapacity));
+                }
+            }
+            dailySlots.sort(Comparator.comparing(AvailableSlotDTO::availableCapacity).reversed()
+                    .thenComparing(AvailableSlotDTO::garageId));
+            slots.addAll(dailySlots.subList(0, Math.min(dailySlots.size(), limit - slots.size())));
+        }
+        return slots;
+    }
+
+    private Map<Integer, int[]> findRegisteredGarageRequests(Integer carId, String city, LocalDate startDate, LocalDate endDate, int days) {
+        List<Integer> garageIds = carRepository.findGarageViewsByCarIds(List.of(carId)).stream()
+                .map(CarGarageView::garageId)
+                .toList();
+        Map<Integer, int[]> requestsByGarageId = new HashMap<>();
+        boolean covered = true;
+        for (ResponseGarageDTO garage : garageCache.getAllById(garageIds).values()) {
+            if (city.equals(garage.city())) {
+                int[] dailyRequests = occupancyCalendar.getDailyRequests(garage.id(), startDate, endDate);
+                if (dailyRequests == null) {
+                    covered = false;
+                    break;
+                }
+                requestsByGarageId.put(garage.id(), dailyRequests);
+            }
+        }
+        if (covered) {
+            return requestsByGarageId;
+        }
+
+        requestsByGarageId.clear();
+        for (GarageOccupancyView view : occupancyRepository.findRegisteredGarageOccupancy(carId, city, startDate, endDate)) {
+            int[] dailyRequests = requestsByGarageId.computeIfAbsent(view.garageId(), garageId -> new int[days]);
+            if (view.scheduledDate() != null) {
+                dailyRequests[(int) ChronoUnit.DAYS.between(startDate, view.scheduledDate())] = view.requests();
+            }
+        }
+        return requestsByGarageId;
+    }
+
+    @Transactional
+    public int rebuildDailyOccupancy() {
+        occupancyRepository.deleteAllRows();
+        int rows = occupancyRepository.insertCountsFromMaintenance();
+        TransactionCallbacks.afterCommit(occupancyCalendar::load);
+        reportVersions.allGaragesChanged();
+        return rows;
+    }
+
     @Transactional
     public ResponseGarageDTO createGarage(CreateGarageDTO dto) {
         Garage garage = new Garage();
@@ -72,12 +191,16 @@ public class GarageService {
         garage.setCity(dto.city());
         garage.setCapacity(dto.capacity());
         garageRepository.save(garage);
-        return new ResponseGarageDTO(garage.getId(), garage.getName(), garage.getLocation(), garage.getCity(), garage.getCapacity());
+        garageCache.invalidate(null, garage.getCity());
+        entityVersionCache.garageChanged(garage);
+        return garageCache.mapToResponseGarageDTO(garage);
     }
 
     @Transactional
     public ResponseGarageDTO updateGarage(Integer id, UpdateGarageDTO dto) {
         Garage garage = garageRepository.findById(id).orElseThrow(() -> new GarageDoesNotExistException(id));
+        garageCache.invalidate(id, garage.getCity(), dto.city());
+        entityVersionCache.garageChanged(garage);
 
         if (dto.name() != null) {
             garage.setName(dto.name());
@@ -93,20 +216,19 @@ public class GarageService {
 
         if (dto.capacity() != null) {
             garage.setCapacity(dto.capacity());
+            reportVersions.garageChanged(id);
         }
 
-        return new ResponseGarageDTO(garage.getId(), garage.getName(), garage.getLocation(), garage.getCity(), garage.getCapacity());
+        return garageCache.mapToResponseGarageDTO(garage);
     }
 
     @Transactional
     public boolean deleteGarage(Integer id) {
         Garage garage = garageRepository.findById(id).orElseThrow(() -> new GarageDoesNotExistException(id));
-        try {
-            garage.getCars().forEach(car -> car.getGarages().remove(garage));
-            garageRepository.delete(garage);
-            return true;
-        } catch (Exception exception) {
-            return false;
-        }
+        garage.setDeleted(true);
+        garageCache.invalidate(id, garage.getCity());
+        reportVersions.garageChanged(id);
+        entityVersionCache.garageDeleted(id);
+        return true;
     }
 }
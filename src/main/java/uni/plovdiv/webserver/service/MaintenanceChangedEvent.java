@@ -0,0 +1,14 @@
+package uni.plovdiv.webserver.service;
+
+import uni.plovdiv.webserver.dto.maintenance.CapacityDeltaDTO;
+import uni.plovdiv.webserver.dto.maintenance.MaintenanceChangeType;
+
+import java.util.List;
+
+public record MaintenanceChangedEvent(
+        MaintenanceChangeType type,
+        Integer garageId,
+        List<Integer> maintenanceIds,
+        List<CapacityDeltaDTO> capacityDeltas
+) {
+}
@@ -0,0 +1,28 @@
+package uni.plovdiv.webserver.service;
+
+import uni.plovdiv.webserver.exception.RequestValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record MaintenanceCursor(LocalDate scheduledDate, Integer id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String token = scheduledDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MaintenanceCursor decode(String cursor) {
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = token.indexOf(SEPARATOR);
+            return new MaintenanceCursor(LocalDate.parse(token.substring(0, separatorIndex)), Integer.valueOf(token.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new RequestValidationException("invalid cursor %s".formatted(cursor));
+        }
+    }
+}
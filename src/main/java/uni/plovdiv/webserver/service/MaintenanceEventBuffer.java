@@ -0,0 +1,50 @@
+package uni.plovdiv.webserver.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.dto.maintenance.MaintenanceChangeEventDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class MaintenanceEventBuffer {
+
+    private final MaintenanceChangeEventDTO[] events;
+
+    private long lastSequence;
+
+    public MaintenanceEventBuffer(@Value("${maintenance.events.buffer-size}") int bufferSize) {
+        this.events = new MaintenanceChangeEventDTO[bufferSize];
+    }
+
+    public synchronized MaintenanceChangeEventDTO append(MaintenanceChangedEvent event) {
+        long sequence = ++lastSequence;
+        MaintenanceChangeEventDTO stamped = new MaintenanceChangeEventDTO(sequence, event.type(), event.garageId(),
+                event.maintenanceIds(), event.capacityDeltas(), Instant.now());
+        events[slot(sequence)] = stamped;
+        return stamped;
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized Optional<List<MaintenanceChangeEventDTO>> eventsAfter(long sequence) {
+        long oldestRetained = Math.max(1, lastSequence - events.length + 1);
+        if (sequence > lastSequence || sequence + 1 < oldestRetained) {
+            return Optional.empty();
+        }
+        List<MaintenanceChangeEventDTO> result = new ArrayList<>((int) (lastSequence - sequence));
+        for (long next = sequence + 1; next <= lastSequence; next++) {
+            result.add(events[slot(next)]);
+        }
+        return Optional.of(result);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % events.length);
+    }
+}
@@ -0,0 +1,134 @@
+package uni.plovdiv.webserver.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uni.plovdiv.webserver.dto.maintenance.MaintenanceChangeEventDTO;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class MaintenanceEventStream {
+
+    private static final String CHANGE_EVENT = "maintenance";
+
+    private static final String RESET_EVENT = "reset";
+
+    private final MaintenanceEventBuffer eventBuffer;
+
+    private final GarageCache garageCache;
+
+    private final long timeoutMillis;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService dispatcher;
+
+    public MaintenanceEventStream(MaintenanceEventBuffer eventBuffer, GarageCache garageCache,
+                                  @Value("${maintenance.events.timeout}") Duration timeout,
+                                  @Value("${maintenance.events.dispatch-threads}") int dispatchThreads) {
+        this.eventBuffer = eventBuffer;
+        this.garageCache = garageCache;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger dispatcherCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "maintenance-events-" + dispatcherCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(@Nullable Integer garageId, @Nullable Long lastEventId) {
+        if (garageId != null) {
+            garageCache.getById(garageId);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(garageId, emitter, lastEventId != null ? lastEventId : eventBuffer.lastSequence());
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onError(exception -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        subscriptions.add(subscription);
+        subscription.scheduleDelivery();
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onMaintenanceChanged(MaintenanceChangedEvent event) {
+        eventBuffer.append(event);
+        subscriptions.forEach(Subscription::scheduleDelivery);
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    private class Subscription {
+
+        private final Integer garageId;
+
+        private final SseEmitter emitter;
+
+        private final AtomicInteger pendingDeliveries = new AtomicInteger();
+
+        private long lastDeliveredSequence;
+
+        private Subscription(Integer garageId, SseEmitter emitter, long lastDeliveredSequence) {
+            this.garageId = garageId;
+            this.emitter = emitter;
+            this.lastDeliveredSequence = lastDeliveredSequence;
+        }
+
+        private void scheduleDelivery() {
+            if (pendingDeliveries.getAndIncrement() == 0) {
+                dispatcher.execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            int pending = pendingDeliveries.get();
+            do {
+                try {
+                    deliverPending();
+                } catch (IOException | IllegalStateException exception) {
+                    log.debug("Dropping maintenance event subscriber: {}", exception.getMessage());
+                    subscriptions.remove(this);
+                    emitter.completeWithError(exception);
+                    return;
+                }
+                pending = pendingDeliveries.addAndGet(-pending);
+            } while (pending != 0);
+        }
+
+        private void deliverPending() throws IOException {
+            long head = eventBuffer.lastSequence();
+            Optional<List<MaintenanceChangeEventDTO>> pending = eventBuffer.eventsAfter(lastDeliveredSequence);
+            if (pending.isEmpty()) {
+                emitter.send(SseEmitter.event().id(String.valueOf(head)).name(RESET_EVENT).data(Map.of("sequence", head)));
+                lastDeliveredSequence = head;
+                return;
+            }
+            for (MaintenanceChangeEventDTO event : pending.get()) {
+                if (garageId == null || garageId.equals(event.garageId())) {
+                    emitter.send(SseEmitter.event().id(String.valueOf(event.sequence())).name(CHANGE_EVENT).data(event));
+                }
+                lastDeliveredSequence = event.sequence();
+            }
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package uni.plovdiv.webserver.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
 import uni.plovdiv.webserver.dto.maintenance.*;
 import uni.plovdiv.webserver.exception.CarDoesNotExistException;
-import uni.plovdiv.webserver.exception.GarageDoesNotExistException;
 import uni.plovdiv.webserver.exception.MaintenanceDoesNotExistException;
 import uni.plovdiv.webserver.exception.RequestValidationException;
 import uni.plovdiv.webserver.model.Car;
@@ -13,43 +17,91 @@ import uni.plovdiv.webserver.model.Garage;
 import uni.plovdiv.webserver.model.Maintenance;
 import uni.plovdiv.webserver.repository.CarRepository;
 import uni.plovdiv.webserver.repository.GarageRepository;
+import uni.plovdiv.webserver.repository.MaintenanceBatchRepository;
 import uni.plovdiv.webserver.repository.MaintenanceRepository;
+import uni.plovdiv.webserver.repository.TombstoneRepository;
+import uni.plovdiv.webserver.repository.projection.CarGarageView;
+import uni.plovdiv.webserver.repository.projection.CarView;
+import uni.plovdiv.webserver.repository.projection.GarageMonthlyRequestsCount;
+import uni.plovdiv.webserver.repository.projection.MaintenanceView;
+import uni.plovdiv.webserver.repository.projection.MonthlyRequestsCount;
+import uni.plovdiv.webserver.repository.projection.TombstonedMaintenanceView;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Service
 @RequiredArgsConstructor
 public class MaintenanceService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
     private final MaintenanceRepository maintenanceRepository;
 
     private final CarRepository carRepository;
 
     private final GarageRepository garageRepository;
 
+    private final GarageCapacityService garageCapacityService;
+
+    private final GarageOccupancyCalendar occupancyCalendar;
+
+    private final GarageCache garageCache;
+
+    private final EntityVersionCache entityVersionCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MaintenanceBatchRepository maintenanceBatchRepository;
+
+    private final TombstoneRepository tombstoneRepository;
+
     public List<ResponseMaintenanceDTO> findAll(Integer carId, Integer garageId, LocalDate startDate, LocalDate endDate) {
-        return maintenanceRepository.findByGarageIdAndCarId(garageId, carId).stream()
-                .filter(maintenance -> isScheduledDateInRange(maintenance.getScheduledDate(), startDate, endDate))
+        return maintenanceRepository.findViews(garageId, carId, startDate, endDate).stream()
                 .map(this::mapToResponseMaintenanceDTO)
                 .toList();
     }
 
-    private boolean isScheduledDateInRange(LocalDate scheduledDate, LocalDate startDate, LocalDate endDate) {
-        boolean isAfterStartDate = true;
-        if (startDate != null) {
-            isAfterStartDate = scheduledDate.isAfter(startDate);
+    public MaintenancePageDTO findPage(Integer carId, Integer garageId, LocalDate startDate, LocalDate endDate, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new RequestValidationException("limit must be between 1 and %s".formatted(MAX_PAGE_SIZE));
+        }
+        MaintenanceCursor after = cursor != null ? MaintenanceCursor.decode(cursor) : null;
+        List<MaintenanceView> views = maintenanceRepository.findViewsPage(garageId, carId, startDate, endDate,
+                after != null ? after.scheduledDate() : null, after != null ? after.id() : null, Limit.of(limit));
+        String nextCursor = null;
+        if (views.size() == limit) {
+            MaintenanceView last = views.get(views.size() - 1);
+            nextCursor = new MaintenanceCursor(last.scheduledDate(), last.id()).encode();
         }
-        boolean isBeforeEndDate = true;
-        if (endDate != null) {
-            isBeforeEndDate = scheduledDate.isBefore(endDate);
+        return new MaintenancePageDTO(views.stream().map(this::mapToResponseMaintenanceDTO).toList(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Integer carId, Integer garageId, LocalDate startDate, LocalDate endDate, Consumer<ResponseMaintenanceDTO> consumer) {
+        try (Stream<MaintenanceView> views = maintenanceRepository.streamViews(garageId, carId, startDate, endDate)) {
+            views.map(this::mapToResponseMaintenanceDTO).forEach(consumer);
         }
-        return isAfterStartDate && isBeforeEndDate;
     }
 
     public ResponseMaintenanceDTO findById(Integer id) {
@@ -57,28 +109,54 @@ public class MaintenanceService {
         return mapToResponseMaintenanceDTO(maintenance);
     }
 
+    public String getETag(Integer id) {
+        return entityVersionCache.getMaintenanceETag(id);
+    }
+
     public List<MonthlyRequestsReportDTO> getMonthlyRequestsReport(Integer garageId, YearMonth startMonth, YearMonth endMonth) {
         if (!garageRepository.existsById(garageId)) {
             throw new RequestValidationException("garage with ID %s does not exist".formatted(garageId));
         }
-        Map<YearMonth, List<Maintenance>> maintenancesGroupedByScheduledDate = maintenanceRepository.findByGarageId(garageId).stream()
-                .filter(maintenance -> isScheduledDateInRange(maintenance.getScheduledDate(), startMonth, endMonth))
-                .collect(groupingBy(maintenance -> YearMonth.from(maintenance.getScheduledDate())));
-        return produceMonthlyRequestsReport(maintenancesGroupedByScheduledDate, startMonth, endMonth);
+        int[] monthlyRequests = occupancyCalendar.getMonthlyRequests(garageId, startMonth, endMonth);
+        if (monthlyRequests != null) {
+            List<MonthlyRequestsReportDTO> result = new ArrayList<>(monthlyRequests.length);
+            for (int month = 0; month < monthlyRequests.length; month++) {
+                result.add(new MonthlyRequestsReportDTO(mapToYearMonthDTO(startMonth.plusMonths(month)), monthlyRequests[month]));
+            }
+            return result;
+        }
+        Map<YearMonth, Integer> requestsByScheduledMonth = maintenanceRepository.countMonthlyRequests(garageId, startMonth.atDay(1), endMonth.atEndOfMonth()).stream()
+                .collect(toMap(this::mapToYearMonth, count -> count.getRequests().intValue()));
+        return produceMonthlyRequestsReport(requestsByScheduledMonth, startMonth, endMonth);
     }
 
-    private boolean isScheduledDateInRange(LocalDate scheduledDate, YearMonth startMonth, YearMonth endMonth) {
-        YearMonth scheduledDateInYearMonthFormat = YearMonth.from(scheduledDate);
-        return (startMonth.isBefore(scheduledDateInYearMonthFormat) || startMonth.equals(scheduledDateInYearMonthFormat)) &&
-               (endMonth.isAfter(scheduledDateInYearMonthFormat) || endMonth.equals(scheduledDateInYearMonthFormat));
+    public List<GarageMonthlyRequestsReportDTO> getMonthlyRequestsReportByCity(String city, YearMonth startMonth, YearMonth endMonth) {
+        Map<Integer, List<GarageMonthlyRequestsCount>> countsGroupedByGarage = maintenanceRepository.countMonthlyRequestsByCity(city, startMonth.atDay(1), endMonth.atEndOfMonth()).stream()
+                .collect(groupingBy(GarageMonthlyRequestsCount::getGarageId, LinkedHashMap::new, toList()));
+        return countsGroupedByGarage.values().stream()
+                .map(counts -> produceGarageMonthlyRequestsReport(counts, startMonth, endMonth))
+                .toList();
     }
 
-    private List<MonthlyRequestsReportDTO> produceMonthlyRequestsReport(Map<YearMonth, List<Maintenance>> maintenancesGroupedByScheduledDate, YearMonth startMonth, YearMonth endMonth) {
+    private GarageMonthlyRequestsReportDTO produceGarageMonthlyRequestsReport(List<GarageMonthlyRequestsCount> counts, YearMonth startMonth, YearMonth endMonth) {
+        GarageMonthlyRequestsCount garage = counts.get(0);
+        Map<YearMonth, Integer> requestsByScheduledMonth = counts.stream()
+                .filter(count -> count.getScheduledYear() != null)
+                .collect(toMap(this::mapToYearMonth, count -> count.getRequests().intValue()));
+        return new GarageMonthlyRequestsReportDTO(garage.getGarageId(), garage.getGarageName(),
+                produceMonthlyRequestsReport(requestsByScheduledMonth, startMonth, endMonth));
+    }
+
+    private YearMonth mapToYearMonth(MonthlyRequestsCount count) {
+        return YearMonth.of(count.getScheduledYear(), count.getScheduledMonth());
+    }
+
+    private List<MonthlyRequestsReportDTO> produceMonthlyRequestsReport(Map<YearMonth, Integer> requestsByScheduledMonth, YearMonth startMonth, YearMonth endMonth) {
         List<MonthlyRequestsReportDTO> result = new ArrayList<>();
         YearMonth currentMonth = startMonth;
         while (currentMonth.isBefore(endMonth) || currentMonth.equals(endMonth)) {
-            if (maintenanceForGivenYearMonthExist(maintenancesGroupedByScheduledDate, currentMonth)) {
-                result.add(createReportWithRequests(maintenancesGroupedByScheduledDate, currentMonth));
+            if (maintenanceForGivenYearMonthExist(requestsByScheduledMonth, currentMonth)) {
+                result.add(createReportWithRequests(requestsByScheduledMonth, currentMonth));
             } else {
                 result.add(createReportWithoutRequests(currentMonth));
             }
@@ -87,13 +165,12 @@ public class MaintenanceService {
         return result;
     }
 
-    private boolean maintenanceForGivenYearMonthExist(Map<YearMonth, List<Maintenance>> maintenancesGroupedByScheduledDate, YearMonth yearMonth) {
-        return maintenancesGroupedByScheduledDate.containsKey(yearMonth);
+    private boolean maintenanceForGivenYearMonthExist(Map<YearMonth, Integer> requestsByScheduledMonth, YearMonth yearMonth) {
+        return requestsByScheduledMonth.containsKey(yearMonth);
     }
 
-    private MonthlyRequestsReportDTO createReportWithRequests(Map<YearMonth, List<Maintenance>> maintenancesGroupedByScheduledDate, YearMonth currentMonth) {
-        List<Maintenance> maintenancesForCurrentMonth = maintenancesGroupedByScheduledDate.get(currentMonth);
-        Integer numberOfRequests = maintenancesForCurrentMonth.size();
+    private MonthlyRequestsReportDTO createReportWithRequests(Map<YearMonth, Integer> requestsByScheduledMonth, YearMonth currentMonth) {
+        Integer numberOfRequests = requestsByScheduledMonth.get(currentMonth);
         YearMonthDTO yearMonthDTO = mapToYearMonthDTO(currentMonth);
         return new MonthlyRequestsReportDTO(yearMonthDTO, numberOfRequests);
     }
@@ -114,11 +191,12 @@ public class MaintenanceService {
 
     @Transactional
     public ResponseMaintenanceDTO createMaintenance(CreateMaintenanceDTO dto) {
-        Garage garage = garageRepository.findById(dto.garageId()).orElseThrow(IllegalArgumentException::new);
+        ResponseGarageDTO cachedGarage = garageCache.getById(dto.garageId());
+        Garage garage = garageRepository.getReferenceById(cachedGarage.id());
         Car car = carRepository.findById(dto.carId()).orElseThrow(IllegalArgumentException::new);
 
-        verifyGarageHasEnoughCapacity(garage, dto.scheduledDate());
         verifyCarIsRegisteredInSpecificGarage(car, garage);
+        garageCapacityService.reserve(cachedGarage.id(), cachedGarage.capacity(), dto.scheduledDate());
 
         Maintenance maintenance = new Maintenance();
         maintenance.setCar(car);
@@ -127,25 +205,159 @@ public class MaintenanceService {
         maintenance.setScheduledDate(dto.scheduledDate());
 
         maintenanceRepository.save(maintenance);
+        entityVersionCache.maintenanceChanged(maintenance);
+        publishChange(MaintenanceChangeType.CREATED, garage.getId(), List.of(maintenance.getId()), Map.of(dto.scheduledDate(), -1));
         return mapToResponseMaintenanceDTO(maintenance);
     }
 
+    @Transactional
+    public BatchMaintenanceResponseDTO createMaintenances(List<CreateMaintenanceDTO> dtos, BatchMode mode) {
+        String[] errors = new String[dtos.size()];
+        Map<Integer, CarView> carsById = findCarViewsById(dtos.stream().map(CreateMaintenanceDTO::carId).filter(Objects::nonNull).distinct().toList());
+        Map<Integer, ResponseGarageDTO> garagesById = garageCache.getAllById(dtos.stream().map(CreateMaintenanceDTO::garageId).filter(Objects::nonNull).collect(toSet()));
+        Set<CarGarageView> registrations = findRegistrations(List.copyOf(carsById.keySet()));
+
+        Map<Integer, Map<LocalDate, List<Integer>>> indexesGroupedByGarageAndDate = new TreeMap<>();
+        for (int index = 0; index < dtos.size(); index++) {
+            CreateMaintenanceDTO dto = dtos.get(index);
+            errors[index] = validateBatchItem(dto, carsById, garagesById, registrations);
+            if (errors[index] == null) {
+                indexesGroupedByGarageAndDate.computeIfAbsent(dto.garageId(), garageId -> new TreeMap<>())
+                        .computeIfAbsent(dto.scheduledDate(), scheduledDate -> new ArrayList<>())
+                        .add(index);
+            }
+        }
+
+        indexesGroupedByGarageAndDate.forEach((garageId, indexesGroupedByDate) -> {
+            Map<LocalDate, Integer> requestedByDate = indexesGroupedByDate.entrySet().stream()
+                    .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().size()));
+            Map<LocalDate, Integer> grantedByDate = garageCapacityService.reserveUpTo(garageId, garagesById.get(garageId).capacity(), requestedByDate);
+            indexesGroupedByDate.forEach((scheduledDate, indexes) -> indexes.subList(grantedByDate.getOrDefault(scheduledDate, 0), indexes.size())
+                    .forEach(index -> errors[index] = "garage with ID %s does not have capacity for date %s".formatted(garageId, scheduledDate)));
+        });
+
+        boolean applied = mode == BatchMode.BEST_EFFORT || Arrays.stream(errors).allMatch(Objects::isNull);
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int index = 0; index < dtos.size(); index++) {
+            if (errors[index] == null) {
+                acceptedIndexes.add(index);
+            }
+        }
+        if (!applied) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            acceptedIndexes.forEach(index -> errors[index] = "not applied because other items in the batch failed");
+            acceptedIndexes.clear();
+        }
+
+        List<Integer> ids = maintenanceBatchRepository.insertAll(acceptedIndexes.stream().map(dtos::get).toList());
+        publishBatchChanges(acceptedIndexes.stream().map(dtos::get).toList(), ids);
+        ResponseMaintenanceDTO[] created = new ResponseMaintenanceDTO[dtos.size()];
+        for (int i = 0; i < acceptedIndexes.size(); i++) {
+            CreateMaintenanceDTO dto = dtos.get(acceptedIndexes.get(i));
+            CarView car = carsById.get(dto.carId());
+            ResponseGarageDTO garage = garagesById.get(dto.garageId());
+            created[acceptedIndexes.get(i)] = mapToResponseMaintenanceDTO(new MaintenanceView(ids.get(i), car.id(), car.make(), car.model(), car.licensePlate(),
+                    dto.serviceType(), dto.scheduledDate(), garage.id(), garage.name()));
+        }
+
+        List<BatchMaintenanceResultDTO> results = new ArrayList<>(dtos.size());
+        for (int index = 0; index < dtos.size(); index++) {
+            results.add(new BatchMaintenanceResultDTO(index, errors[index] == null, created[index], errors[index]));
+        }
+        return new BatchMaintenanceResponseDTO(mode, applied, acceptedIndexes.size(), dtos.size() - acceptedIndexes.size(), results);
+    }
+
+    private void publishBatchChanges(List<CreateMaintenanceDTO> created, List<Integer> ids) {
+        Map<Integer, List<Integer>> idsByGarage = new TreeMap<>();
+        Map<Integer, Map<LocalDate, Integer>> deltasByGarage = new TreeMap<>();
+        for (int i = 0; i < created.size(); i++) {
+            CreateMaintenanceDTO dto = created.get(i);
+            idsByGarage.computeIfAbsent(dto.garageId(), garageId -> new ArrayList<>()).add(ids.get(i));
+            deltasByGarage.computeIfAbsent(dto.garageId(), garageId -> new TreeMap<>()).merge(dto.scheduledDate(), -1, Integer::sum);
+        }
+        idsByGarage.forEach((garageId, garageIds) -> publishChange(MaintenanceChangeType.CREATED, garageId, garageIds, deltasByGarage.get(garageId)));
+    }
+
+    private void publishChange(MaintenanceChangeType type, Integer garageId, List<Integer> maintenanceIds, Map<LocalDate, Integer> deltasByDate) {
+        List<CapacityDeltaDTO> capacityDeltas = new TreeMap<>(deltasByDate).entrySet().stream()
+                .map(delta -> new CapacityDeltaDTO(delta.getKey(), delta.getValue()))
+                .toList();
+        eventPublisher.publishEvent(new MaintenanceChangedEvent(type, garageId, maintenanceIds, capacityDeltas));
+    }
+
+    private String validateBatchItem(CreateMaintenanceDTO dto, Map<Integer, CarView> carsById, Map<Integer, ResponseGarageDTO> garagesById, Set<CarGarageView> registrations) {
+        if (dto.carId() == null || dto.garageId() == null || dto.scheduledDate() == null) {
+            return "carId, garageId and scheduledDate are required";
+        }
+        if (!carsById.containsKey(dto.carId())) {
+            return "Missing car with ID - %s".formatted(dto.carId());
+        }
+        if (!garagesById.containsKey(dto.garageId())) {
+            return "Missing garage with ID - %s".formatted(dto.garageId());
+        }
+        if (!registrations.contains(new CarGarageView(dto.carId(), dto.garageId()))) {
+            return "car with ID %s it not registered in the garage with ID %s".formatted(dto.carId(), dto.garageId());
+        }
+        return null;
+    }
+
+    private Map<Integer, CarView> findCarViewsById(List<Integer> carIds) {
+        Map<Integer, CarView> carsById = new HashMap<>();
+        for (int from = 0; from < carIds.size(); from += LOOKUP_BATCH_SIZE) {
+            carRepository.findViewsByIds(carIds.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, carIds.size())))
+                    .forEach(car -> carsById.put(car.id(), car));
+        }
+        return carsById;
+    }
+
+    private Set<CarGarageView> findRegistrations(List<Integer> carIds) {
+        Set<CarGarageView> registrations = new HashSet<>();
+        for (int from = 0; from < carIds.size(); from += LOOKUP_BATCH_SIZE) {
+            registrations.addAll(carRepository.findGarageViewsByCarIds(carIds.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, carIds.size()))));
+        }
+        return registrations;
+    }
+
     @Transactional
     public ResponseMaintenanceDTO updateMaintenance(Integer id, UpdateMaintenanceDTO dto) {
         Maintenance maintenance = maintenanceRepository.findById(id).orElseThrow(() -> new MaintenanceDoesNotExistException(id));
 
-        Garage garage = dto.garageId() != null ? garageRepository.findById(dto.garageId()).orElseThrow(() -> new GarageDoesNotExistException(dto.garageId())) : maintenance.getGarage();
+        Garage garage = dto.garageId() != null ? garageRepository.getReferenceById(garageCache.getById(dto.garageId()).id()) : maintenance.getGarage();
         Car car = dto.carId() != null ? carRepository.findById(dto.carId()).orElseThrow(() -> new CarDoesNotExistException(dto.carId())) : maintenance.getCar();
         LocalDate scheduledDate = dto.scheduledDate() != null ? dto.scheduledDate() : maintenance.getScheduledDate();
         String serviceType = dto.serviceType() != null ? dto.serviceType() : maintenance.getServiceType();
 
-        verifyGarageHasEnoughCapacity(garage, scheduledDate);
         verifyCarIsRegisteredInSpecificGarage(car, garage);
+        Integer previousGarageId = maintenance.getGarage().getId();
+        LocalDate previousScheduledDate = maintenance.getScheduledDate();
+        if (!garage.getId().equals(previousGarageId) || !scheduledDate.equals(previousScheduledDate)) {
+            moveReservation(previousGarageId, previousScheduledDate, garage.getId(), scheduledDate);
+            if (garage.getId().equals(previousGarageId)) {
+                publishChange(MaintenanceChangeType.UPDATED, previousGarageId, List.of(id), Map.of(previousScheduledDate, 1, scheduledDate, -1));
+            } else {
+                publishChange(MaintenanceChangeType.UPDATED, previousGarageId, List.of(id), Map.of(previousScheduledDate, 1));
+                publishChange(MaintenanceChangeType.UPDATED, garage.getId(), List.of(id), Map.of(scheduledDate, -1));
+            }
+        } else {
+            publishChange(MaintenanceChangeType.UPDATED, garage.getId(), List.of(id), Map.of());
+        }
 
         updateMaintenanceEntity(maintenance, garage, car, scheduledDate, serviceType);
+        entityVersionCache.maintenanceChanged(maintenance);
         return mapToResponseMaintenanceDTO(maintenance);
     }
 
+    private void moveReservation(Integer previousGarageId, LocalDate previousScheduledDate, Integer garageId, LocalDate scheduledDate) {
+        int order = previousGarageId.equals(garageId) ? previousScheduledDate.compareTo(scheduledDate) : previousGarageId.compareTo(garageId);
+        if (order < 0) {
+            garageCapacityService.release(previousGarageId, previousScheduledDate);
+            garageCapacityService.reserve(garageId, garageCache.getById(garageId).capacity(), scheduledDate);
+        } else {
+            garageCapacityService.reserve(garageId, garageCache.getById(garageId).capacity(), scheduledDate);
+            garageCapacityService.release(previousGarageId, previousScheduledDate);
+        }
+    }
+
     private void updateMaintenanceEntity(Maintenance maintenance, Garage garage, Car car, LocalDate scheduledDate, String serviceType) {
         maintenance.setGarage(garage);
         maintenance.setCar(car);
@@ -153,15 +365,8 @@ public class MaintenanceService {
         maintenance.setServiceType(serviceType);
     }
 
-    private void verifyGarageHasEnoughCapacity(Garage garage, LocalDate scheduledDate) {
-        List<Maintenance> maintenances = maintenanceRepository.findByGarageIdAndScheduledDate(garage.getId(), scheduledDate);
-        if (garage.getCapacity() <= maintenances.size()) {
-            throw new RequestValidationException("garage with ID %s does not have capacity for date %s".formatted(garage.getId(), scheduledDate));
-        }
-    }
-
     private void verifyCarIsRegisteredInSpecificGarage(Car car, Garage garage) {
-        if (!garage.getCars().contains(car)) {
+        if (!carRepository.existsByIdAndGaragesId(car.getId(), garage.getId())) {
             throw new RequestValidationException("car with ID %s it not registered in the garage with ID %s".formatted(car.getId(), garage.getId()));
         }
     }
@@ -170,15 +375,67 @@ public class MaintenanceService {
     public boolean deleteMaintenance(Integer id) {
         try {
             Maintenance maintenance = maintenanceRepository.findById(id).orElseThrow(() -> new MaintenanceDoesNotExistException(id));
+            garageCapacityService.release(maintenance.getGarage().getId(), maintenance.getScheduledDate());
+            publishChange(MaintenanceChangeType.DELETED, maintenance.getGarage().getId(), List.of(id), Map.of(maintenance.getScheduledDate(), 1));
             maintenance.setGarage(null);
             maintenance.setCar(null);
             maintenanceRepository.delete(maintenance);
+            entityVersionCache.maintenanceDeleted(id);
             return true;
         } catch (Exception exception) {
             return false;
         }
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseMaintenanceOfCar(Integer carId) {
+        Map<Integer, Set<LocalDate>> datesByGarage = new TreeMap<>();
+        tombstoneRepository.findMaintenanceOfCar(carId).forEach(maintenance -> datesByGarage
+                .computeIfAbsent(maintenance.garageId(), garageId -> new TreeSet<>())
+                .add(maintenance.scheduledDate()));
+        datesByGarage.forEach(garageCapacityService::lock);
+        tombstoneRepository.lockMaintenanceOfCar(carId);
+
+        Map<Integer, List<Integer>> idsByGarage = new TreeMap<>();
+        Map<Integer, Map<LocalDate, Integer>> releasedByGarage = new TreeMap<>();
+        for (TombstonedMaintenanceView maintenance : tombstoneRepository.findMaintenanceOfCar(carId)) {
+            entityVersionCache.maintenanceDeleted(maintenance.id());
+            idsByGarage.computeIfAbsent(maintenance.garageId(), garageId -> new ArrayList<>()).add(maintenance.id());
+            releasedByGarage.computeIfAbsent(maintenance.garageId(), garageId -> new TreeMap<>()).merge(maintenance.scheduledDate(), 1, Integer::sum);
+        }
+        idsByGarage.forEach((garageId, ids) -> publishChange(MaintenanceChangeType.DELETED, garageId, ids,
+                garageCapacityService.releaseUpTo(garageId, releasedByGarage.get(garageId))));
+    }
+
+    @Transactional
+    public int purgeTombstonedMaintenance(int limit) {
+        List<TombstonedMaintenanceView> purged = tombstoneRepository.deleteMaintenance(tombstoneRepository.findTombstonedMaintenance(limit));
+        Map<Integer, List<Integer>> idsByGarage = new TreeMap<>();
+        Map<Integer, Set<LocalDate>> datesByGarage = new TreeMap<>();
+        for (TombstonedMaintenanceView maintenance : purged) {
+            entityVersionCache.maintenanceDeleted(maintenance.id());
+            idsByGarage.computeIfAbsent(maintenance.garageId(), garageId -> new ArrayList<>()).add(maintenance.id());
+            datesByGarage.computeIfAbsent(maintenance.garageId(), garageId -> new TreeSet<>()).add(maintenance.scheduledDate());
+        }
+        for (Garage garage : garageRepository.findAllById(datesByGarage.keySet())) {
+            Map<LocalDate, Integer> releasedByDate = garageCapacityService.recount(garage.getId(), datesByGarage.get(garage.getId()));
+            if (!releasedByDate.isEmpty()) {
+                publishChange(MaintenanceChangeType.DELETED, garage.getId(), idsByGarage.get(garage.getId()), releasedByDate);
+            }
+        }
+        return purged.size();
+    }
+
+    private ResponseMaintenanceDTO mapToResponseMaintenanceDTO(MaintenanceView maintenance) {
+        return new ResponseMaintenanceDTO(maintenance.id(),
+                maintenance.carId(),
+                constructCarName(maintenance.carMake(), maintenance.carModel(), maintenance.carLicensePlate()),
+                maintenance.serviceType(),
+                maintenance.scheduledDate(),
+                maintenance.garageId(),
+                maintenance.garageName());
+    }
+
     private ResponseMaintenanceDTO mapToResponseMaintenanceDTO(Maintenance maintenance) {
         return new ResponseMaintenanceDTO(maintenance.getId(),
                 maintenance.getCar().getId(),
@@ -190,6 +447,10 @@ public class MaintenanceService {
     }
 
     private String constructCarName(Car car) {
-        return car.getMake() + car.getModel() + car.getLicensePlate();
+        return constructCarName(car.getMake(), car.getModel(), car.getLicensePlate());
+    }
+
+    private String constructCarName(String make, String model, String licensePlate) {
+        return make + model + licensePlate;
     }
 }
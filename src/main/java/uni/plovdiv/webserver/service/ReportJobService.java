@@ -0,0 +1,214 @@
+package uni.plovdiv.webserver.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uni.plovdiv.webserver.dto.report.ReportJobDTO;
+import uni.plovdiv.webserver.dto.report.ReportJobStatus;
+import uni.plovdiv.webserver.dto.report.ReportType;
+import uni.plovdiv.webserver.exception.ReportJobDoesNotExistException;
+import uni.plovdiv.webserver.exception.RequestValidationException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class ReportJobService {
+
+    private final GarageService garageService;
+
+    private final MaintenanceService maintenanceService;
+
+    private final GarageCache garageCache;
+
+    private final GarageReportVersions reportVersions;
+
+    private final Duration maxWait;
+
+    private final ThreadPoolExecutor workers;
+
+    private final Cache<String, ReportJob> jobsById;
+
+    private final Cache<ReportKey, ReportJob> jobsByKey;
+
+    public ReportJobService(GarageService garageService, MaintenanceService maintenanceService,
+                            GarageCache garageCache, GarageReportVersions reportVersions,
+                            @Value("${report.jobs.threads}") int threads,
+                            @Value("${report.jobs.queue-capacity}") int queueCapacity,
+                            @Value("${report.jobs.maximum-size}") long maximumSize,
+                            @Value("${report.jobs.expire-after-write}") Duration expireAfterWrite,
+                            @Value("${report.jobs.max-wait}") Duration maxWait) {
+        this.garageService = garageService;
+        this.maintenanceService = maintenanceService;
+        this.garageCache = garageCache;
+        this.reportVersions = reportVersions;
+        this.maxWait = maxWait;
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "report-jobs-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.jobsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.jobsByKey = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public ReportJobDTO submitDailyAvailabilityReport(Integer garageId, LocalDate startDate, LocalDate endDate) {
+        return submit(new ReportKey(ReportType.DAILY_AVAILABILITY, garageId, startDate, endDate));
+    }
+
+    public ReportJobDTO submitMonthlyRequestsReport(Integer garageId, YearMonth startMonth, YearMonth endMonth) {
+        return submit(new ReportKey(ReportType.MONTHLY_REQUESTS, garageId, startMonth.atDay(1), endMonth.atEndOfMonth()));
+    }
+
+    public CompletableFuture<ReportJobDTO> awaitById(String id, int waitSeconds) {
+        if (waitSeconds < 0 || waitSeconds > maxWait.toSeconds()) {
+            throw new RequestValidationException("waitSeconds must be between 0 and %s".formatted(maxWait.toSeconds()));
+        }
+        ReportJob job = getJob(id);
+        if (waitSeconds == 0 || job.result.isDone()) {
+            return CompletableFuture.completedFuture(mapToReportJobDTO(job));
+        }
+        return job.result.handle((result, exception) -> true)
+                .completeOnTimeout(false, waitSeconds, TimeUnit.SECONDS)
+                .thenApply(done -> mapToReportJobDTO(job));
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Runnable task : workers.shutdownNow()) {
+            ReportJob job = ((ReportJobTask) task).job;
+            job.result.completeExceptionally(new RejectedExecutionException("report job %s was cancelled by shutdown".formatted(job.id)));
+            jobsByKey.asMap().remove(job.key, job);
+        }
+    }
+
+    private ReportJobDTO submit(ReportKey key) {
+        if (key.endDate().isBefore(key.startDate())) {
+            throw new RequestValidationException("end of the range must not be before its start");
+        }
+        garageCache.getById(key.garageId());
+
+        ReportJob created = new ReportJob(key, reportVersions.current());
+        ReportJob submitted = jobsByKey.asMap().compute(key, (ignored, existing) ->
+                existing != null && isReusable(existing) ? existing : created);
+        if (submitted == created) {
+            jobsById.put(created.id, created);
+            try {
+                workers.execute(new ReportJobTask(created));
+            } catch (RejectedExecutionException exception) {
+                jobsByKey.asMap().remove(key, created);
+                jobsById.invalidate(created.id);
+                throw exception;
+            }
+        }
+        return mapToReportJobDTO(submitted);
+    }
+
+    private boolean isReusable(ReportJob job) {
+        return !job.result.isCompletedExceptionally() && reportVersions.isCurrent(job.key.garageId(), job.version);
+    }
+
+    private void produce(ReportJob job) {
+        job.running = true;
+        long startedAt = System.nanoTime();
+        try {
+            List<?> result = switch (job.key.type()) {
+                case DAILY_AVAILABILITY -> garageService.getDailyAvailabilityReport(job.key.garageId(), job.key.startDate(), job.key.endDate());
+                case MONTHLY_REQUESTS -> maintenanceService.getMonthlyRequestsReport(job.key.garageId(),
+                        YearMonth.from(job.key.startDate()), YearMonth.from(job.key.endDate()));
+            };
+            job.result.complete(result);
+            log.debug("Report job {} completed in {} ms", job.id, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Throwable exception) {
+            log.warn("Report job {} failed", job.id, exception);
+            job.result.completeExceptionally(exception);
+            jobsByKey.asMap().remove(job.key, job);
+            if (exception instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private ReportJob getJob(String id) {
+        ReportJob job = jobsById.getIfPresent(id);
+        if (job == null) {
+            throw new ReportJobDoesNotExistException(id);
+        }
+        return job;
+    }
+
+    private ReportJobDTO mapToReportJobDTO(ReportJob job) {
+        ReportJobStatus status = ReportJobStatus.QUEUED;
+        List<?> result = null;
+        String error = null;
+        if (job.result.isDone()) {
+            try {
+                result = job.result.join();
+                status = ReportJobStatus.COMPLETED;
+            } catch (CompletionException exception) {
+                error = exception.getCause().getMessage();
+                status = ReportJobStatus.FAILED;
+            }
+        } else if (job.running) {
+            status = ReportJobStatus.RUNNING;
+        }
+        return new ReportJobDTO(job.id, job.key.type(), job.key.garageId(), job.key.startDate(), job.key.endDate(), status, result, error);
+    }
+
+    private record ReportKey(ReportType type, Integer garageId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private class ReportJobTask implements Runnable {
+
+        private final ReportJob job;
+
+        private ReportJobTask(ReportJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            produce(job);
+        }
+    }
+
+    private static class ReportJob {
+
+        private final String id;
+
+        private final ReportKey key;
+
+        private final long version;
+
+        private final CompletableFuture<List<?>> result = new CompletableFuture<>();
+
+        private volatile boolean running;
+
+        private ReportJob(ReportKey key, long version) {
+            this.id = "%d-%s".formatted(key.garageId(), UUID.randomUUID());
+            this.key = key;
+            this.version = version;
+        }
+    }
+}
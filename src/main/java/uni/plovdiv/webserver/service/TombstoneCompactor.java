@@ -0,0 +1,63 @@
+package uni.plovdiv.webserver.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.repository.TombstoneRepository;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+@Slf4j
+@Component
+public class TombstoneCompactor {
+
+    private final MaintenanceService maintenanceService;
+
+    private final TombstoneRepository tombstoneRepository;
+
+    private final int batchSize;
+
+    private final Lock compactionLock = new ReentrantLock();
+
+    public TombstoneCompactor(MaintenanceService maintenanceService, TombstoneRepository tombstoneRepository,
+                              @Value("${compaction.batch-size}") int batchSize) {
+        this.maintenanceService = maintenanceService;
+        this.tombstoneRepository = tombstoneRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${compaction.interval}", fixedDelayString = "${compaction.interval}")
+    public int compact() {
+        if (!compactionLock.tryLock()) {
+            return 0;
+        }
+        try {
+            long startedAt = System.nanoTime();
+            int purged = drain(maintenanceService::purgeTombstonedMaintenance)
+                    + drain(tombstoneRepository::deleteCarGaragesOfTombstonedGarages)
+                    + drain(tombstoneRepository::deleteCarGaragesOfTombstonedCars)
+                    + drain(tombstoneRepository::deleteTombstonedOccupancy)
+                    + drain(tombstoneRepository::deleteTombstonedGarages)
+                    + drain(tombstoneRepository::deleteTombstonedCars);
+            if (purged > 0) {
+                log.debug("Compacted {} tombstoned rows in {} ms", purged, (System.nanoTime() - startedAt) / 1_000_000);
+            }
+            return purged;
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private int drain(IntUnaryOperator batch) {
+        int total = 0;
+        int purged;
+        do {
+            purged = batch.applyAsInt(batchSize);
+            total += purged;
+        } while (purged == batchSize);
+        return total;
+    }
+}
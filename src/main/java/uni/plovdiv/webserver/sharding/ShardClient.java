@@ -0,0 +1,69 @@
+package uni.plovdiv.webserver.sharding;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.idempotency.IdempotencyFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@Profile("sharded")
+public class ShardClient {
+
+    public static final String FORWARDED_HEADER = "X-Shard-Forwarded";
+
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+            HttpHeaders.ACCEPT_ENCODING, HttpHeaders.IF_NONE_MATCH, IdempotencyFilter.IDEMPOTENCY_KEY, "Last-Event-ID");
+
+    private final ShardTopology topology;
+
+    private final HttpClient httpClient;
+
+    public ShardClient(ShardTopology topology, @Value("${sharding.connect-timeout}") Duration connectTimeout) {
+        this.topology = topology;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    public HttpResponse<InputStream> forward(int shard, HttpServletRequest request, byte[] body) throws IOException, InterruptedException {
+        HttpRequest.Builder forwardedRequest = newRequest(shard, request)
+                .method(request.getMethod(), body != null && body.length > 0
+                        ? HttpRequest.BodyPublishers.ofByteArray(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        for (String header : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                forwardedRequest.header(header, value);
+            }
+        }
+        return httpClient.send(forwardedRequest.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> fetch(int shard, HttpServletRequest request) {
+        HttpRequest fetchRequest = newRequest(shard, request)
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .GET()
+                .build();
+        return httpClient.sendAsync(fetchRequest, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest.Builder newRequest(int shard, HttpServletRequest request) {
+        String node = topology.nodeOf(shard).toString().replaceAll("/+$", "");
+        String query = request.getQueryString();
+        return HttpRequest.newBuilder(URI.create(node + request.getRequestURI() + (query != null ? "?" + query : "")))
+                .header(FORWARDED_HEADER, Integer.toString(topology.getShardIndex()));
+    }
+}
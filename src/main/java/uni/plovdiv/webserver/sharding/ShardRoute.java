@@ -0,0 +1,32 @@
+package uni.plovdiv.webserver.sharding;
+
+public record ShardRoute(
+        Type type,
+        int shard,
+        String rejection
+) {
+
+    private static final ShardRoute LOCAL = new ShardRoute(Type.LOCAL, -1, null);
+
+    private static final ShardRoute SCATTER = new ShardRoute(Type.SCATTER, -1, null);
+
+    public enum Type {
+        LOCAL, OWNER, SCATTER, REJECT
+    }
+
+    public static ShardRoute local() {
+        return LOCAL;
+    }
+
+    public static ShardRoute owner(int shard) {
+        return new ShardRoute(Type.OWNER, shard, null);
+    }
+
+    public static ShardRoute scatter() {
+        return SCATTER;
+    }
+
+    public static ShardRoute reject(String rejection) {
+        return new ShardRoute(Type.REJECT, -1, rejection);
+    }
+}
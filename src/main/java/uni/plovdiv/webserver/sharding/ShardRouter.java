@@ -0,0 +1,177 @@
+package uni.plovdiv.webserver.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+@Profile("sharded")
+@RequiredArgsConstructor
+public class ShardRouter {
+
+    private static final Set<String> BODY_METHODS = Set.of("POST", "PUT", "PATCH");
+
+    private final ShardTopology topology;
+
+    private final ObjectMapper objectMapper;
+
+    public boolean needsBody(HttpServletRequest request) {
+        return BODY_METHODS.contains(request.getMethod()) && !request.getRequestURI().endsWith("/import");
+    }
+
+    public ShardRoute resolve(HttpServletRequest request, byte[] body) {
+        String[] segments = request.getRequestURI().substring(1).split("/");
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return switch (segments[0]) {
+            case "garages" -> resolveGarageRoute(method, segments, request);
+            case "cars" -> resolveCarRoute(method, segments, request, readBody(body));
+            case "maintenance" -> resolveMaintenanceRoute(method, segments, request, readBody(body));
+            case "reports" -> resolveReportRoute(segments);
+            case "fleet" -> HttpMethod.GET.equals(method) ? ShardRoute.scatter() : ShardRoute.local();
+            default -> ShardRoute.local();
+        };
+    }
+
+    private ShardRoute resolveGarageRoute(HttpMethod method, String[] segments, HttpServletRequest request) {
+        if (segments.length == 1) {
+            return HttpMethod.GET.equals(method) ? ShardRoute.scatter() : ShardRoute.local();
+        }
+        Integer id = parseId(segments[1]);
+        if (id != null) {
+            return ShardRoute.owner(topology.ownerOf(id));
+        }
+        return switch (segments[1]) {
+            case "dailyAvailabilityReport" -> routeByParameter(request, "garageId");
+            case "earliestAvailableSlots" -> routeByParameter(request, "carId");
+            default -> ShardRoute.local();
+        };
+    }
+
+    private ShardRoute resolveCarRoute(HttpMethod method, String[] segments, HttpServletRequest request, JsonNode body) {
+        if (segments.length == 1) {
+            if (HttpMethod.POST.equals(method)) {
+                return routeByGarageIds(body != null ? body.path("garageIds") : null, null);
+            }
+            ShardRoute route = routeByParameter(request, "garageId");
+            return route.type() == ShardRoute.Type.LOCAL ? ShardRoute.scatter() : route;
+        }
+        Integer id = parseId(segments[1]);
+        if (id == null) {
+            return ShardRoute.local();
+        }
+        int owner = topology.ownerOf(id);
+        if (HttpMethod.PUT.equals(method) && body != null) {
+            return routeByGarageIds(body.path("garageIds"), owner);
+        }
+        return ShardRoute.owner(owner);
+    }
+
+    private ShardRoute resolveMaintenanceRoute(HttpMethod method, String[] segments, HttpServletRequest request, JsonNode body) {
+        if (segments.length == 1) {
+            if (HttpMethod.POST.equals(method)) {
+                return body != null && body.path("garageId").canConvertToInt()
+                        ? ShardRoute.owner(topology.ownerOf(body.path("garageId").asInt()))
+                        : ShardRoute.local();
+            }
+            ShardRoute route = routeByGarageOrCar(request);
+            return route.type() == ShardRoute.Type.LOCAL ? ShardRoute.scatter() : route;
+        }
+        Integer id = parseId(segments[1]);
+        if (id != null) {
+            int owner = topology.ownerOf(id);
+            if (HttpMethod.PUT.equals(method) && body != null) {
+                return routeByMaintenanceReferences(body, owner);
+            }
+            return ShardRoute.owner(owner);
+        }
+        return switch (segments[1]) {
+            case "batch" -> routeByMaintenanceReferences(body, null);
+            case "page", "stream", "events", "monthlyRequestsReport" -> routeByGarageOrCar(request);
+            case "monthlyRequestsReportByCity" -> ShardRoute.scatter();
+            default -> ShardRoute.local();
+        };
+    }
+
+    private ShardRoute resolveReportRoute(String[] segments) {
+        Integer garageId = segments.length == 3 && segments[1].equals("jobs") ? parseId(segments[2].split("-", 2)[0]) : null;
+        return garageId != null ? ShardRoute.owner(topology.ownerOf(garageId)) : ShardRoute.local();
+    }
+
+    private ShardRoute routeByGarageOrCar(HttpServletRequest request) {
+        ShardRoute route = routeByParameter(request, "garageId");
+        return route.type() == ShardRoute.Type.LOCAL ? routeByParameter(request, "carId") : route;
+    }
+
+    private ShardRoute routeByParameter(HttpServletRequest request, String name) {
+        String value = request.getParameter(name);
+        Integer id = value != null ? parseId(value) : null;
+        return id != null ? ShardRoute.owner(topology.ownerOf(id)) : ShardRoute.local();
+    }
+
+    private ShardRoute routeByGarageIds(JsonNode garageIds, Integer requiredOwner) {
+        Set<Integer> owners = new TreeSet<>();
+        if (requiredOwner != null) {
+            owners.add(requiredOwner);
+        }
+        if (garageIds != null && garageIds.isArray()) {
+            garageIds.forEach(garageId -> {
+                if (garageId.canConvertToInt()) {
+                    owners.add(topology.ownerOf(garageId.asInt()));
+                }
+            });
+        }
+        if (owners.size() > 1) {
+            return ShardRoute.reject("garages %s span shards %s; a car can only be registered in garages of one shard"
+                    .formatted(garageIds, owners));
+        }
+        return owners.isEmpty() ? ShardRoute.local() : ShardRoute.owner(owners.iterator().next());
+    }
+
+    private ShardRoute routeByMaintenanceReferences(JsonNode body, Integer requiredOwner) {
+        Set<Integer> owners = new TreeSet<>();
+        if (requiredOwner != null) {
+            owners.add(requiredOwner);
+        }
+        if (body != null) {
+            for (JsonNode maintenance : body.isArray() ? body : objectMapper.createArrayNode().add(body)) {
+                for (String reference : new String[]{"garageId", "carId"}) {
+                    if (maintenance.path(reference).canConvertToInt()) {
+                        owners.add(topology.ownerOf(maintenance.path(reference).asInt()));
+                    }
+                }
+            }
+        }
+        if (owners.size() > 1) {
+            return ShardRoute.reject("maintenance requests span shards %s; garages and cars of one request must live on one shard"
+                    .formatted(owners));
+        }
+        return owners.isEmpty() ? ShardRoute.local() : ShardRoute.owner(owners.iterator().next());
+    }
+
+    private JsonNode readBody(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    private static Integer parseId(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+}
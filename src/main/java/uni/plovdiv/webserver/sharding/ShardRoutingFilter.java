@@ -0,0 +1,230 @@
+package uni.plovdiv.webserver.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import uni.plovdiv.webserver.configuration.CachedBodyRequest;
+import uni.plovdiv.webserver.dto.HttpErrorResponse;
+import uni.plovdiv.webserver.idempotency.IdempotencyFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, IdempotencyFilter.IDEMPOTENT_REPLAYED);
+
+    private static final List<String> SORT_FIELDS = List.of("id", "garageId");
+
+    private final ShardTopology topology;
+
+    private final ShardRouter router;
+
+    private final ShardClient shardClient;
+
+    private final ObjectMapper objectMapper;
+
+    public ShardRoutingFilter(ShardTopology topology, ShardRouter router, ShardClient shardClient, ObjectMapper objectMapper) {
+        this.topology = topology;
+        this.router = router;
+        this.shardClient = shardClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(ShardClient.FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest routedRequest = router.needsBody(request) ? CachedBodyRequest.of(request) : request;
+        byte[] body = routedRequest instanceof CachedBodyRequest cachedBodyRequest ? cachedBodyRequest.getBody() : null;
+        ShardRoute route = router.resolve(routedRequest, body);
+        switch (route.type()) {
+            case OWNER -> {
+                if (topology.isLocal(route.shard())) {
+                    filterChain.doFilter(routedRequest, response);
+                } else {
+                    forward(route.shard(), routedRequest, body, response);
+                }
+            }
+            case SCATTER -> scatterGather(routedRequest, response, filterChain);
+            case REJECT -> writeError(response, BAD_REQUEST, route.rejection());
+            default -> filterChain.doFilter(routedRequest, response);
+        }
+    }
+
+    private void forward(int shard, HttpServletRequest request, byte[] body, HttpServletResponse response) throws IOException {
+        HttpResponse<InputStream> shardResponse;
+        try {
+            shardResponse = shardClient.forward(shard, request, body);
+        } catch (IOException exception) {
+            writeError(response, BAD_GATEWAY, "shard %s is unavailable".formatted(shard));
+            return;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            writeError(response, BAD_GATEWAY, "forwarding to shard %s was interrupted".formatted(shard));
+            return;
+        }
+        response.setStatus(shardResponse.statusCode());
+        for (String header : FORWARDED_RESPONSE_HEADERS) {
+            shardResponse.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+        }
+        try (InputStream input = shardResponse.body()) {
+            OutputStream output = response.getOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+                if (input.available() == 0) {
+                    output.flush();
+                }
+            }
+        }
+    }
+
+    private void scatterGather(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Map<Integer, CompletableFuture<HttpResponse<byte[]>>> remoteResponses = new TreeMap<>();
+        for (int shard = 0; shard < topology.getShardCount(); shard++) {
+            if (!topology.isLocal(shard)) {
+                remoteResponses.put(shard, shardClient.fetch(shard, request));
+            }
+        }
+
+        ContentCachingResponseWrapper localResponse = new ContentCachingResponseWrapper(new UnversionedResponse(response));
+        filterChain.doFilter(new UnconditionalRequest(request), localResponse);
+        if (!HttpStatus.valueOf(localResponse.getStatus()).is2xxSuccessful()) {
+            localResponse.copyBodyToResponse();
+            return;
+        }
+
+        JsonNode merged = objectMapper.readTree(localResponse.getContentAsByteArray());
+        for (Map.Entry<Integer, CompletableFuture<HttpResponse<byte[]>>> remoteResponse : remoteResponses.entrySet()) {
+            HttpResponse<byte[]> shardResponse;
+            try {
+                shardResponse = remoteResponse.getValue().join();
+            } catch (CompletionException exception) {
+                writeError(response, BAD_GATEWAY, "shard %s is unavailable".formatted(remoteResponse.getKey()));
+                return;
+            }
+            if (!HttpStatus.valueOf(shardResponse.statusCode()).is2xxSuccessful()) {
+                response.setStatus(shardResponse.statusCode());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getOutputStream().write(shardResponse.body());
+                return;
+            }
+            merge(merged, objectMapper.readTree(shardResponse.body()));
+        }
+        sort(merged);
+        response.setStatus(localResponse.getStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), merged);
+    }
+
+    private static void merge(JsonNode target, JsonNode source) {
+        if (target instanceof ArrayNode targetArray && source instanceof ArrayNode sourceArray) {
+            targetArray.addAll(sourceArray);
+        } else if (target instanceof ObjectNode targetObject && source instanceof ObjectNode) {
+            source.fields().forEachRemaining(field -> {
+                JsonNode targetField = targetObject.get(field.getKey());
+                if (targetField == null) {
+                    targetObject.set(field.getKey(), field.getValue());
+                } else {
+                    merge(targetField, field.getValue());
+                }
+            });
+        }
+    }
+
+    private static void sort(JsonNode node) {
+        if (node instanceof ObjectNode) {
+            node.forEach(ShardRoutingFilter::sort);
+            return;
+        }
+        if (!(node instanceof ArrayNode array) || array.isEmpty()) {
+            return;
+        }
+        SORT_FIELDS.stream()
+                .filter(field -> array.get(0).path(field).isNumber())
+                .findFirst()
+                .ifPresent(field -> {
+                    List<JsonNode> elements = new ArrayList<>(array.size());
+                    array.forEach(elements::add);
+                    elements.sort(Comparator.comparingLong(element -> element.path(field).asLong()));
+                    array.removeAll();
+                    array.addAll(elements);
+                });
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new HttpErrorResponse(message));
+    }
+
+    private static class UnconditionalRequest extends HttpServletRequestWrapper {
+
+        private UnconditionalRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+    }
+
+    private static class UnversionedResponse extends HttpServletResponseWrapper {
+
+        private UnversionedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                super.addHeader(name, value);
+            }
+        }
+    }
+}
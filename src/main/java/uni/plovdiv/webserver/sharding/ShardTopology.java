@@ -0,0 +1,57 @@
+package uni.plovdiv.webserver.sharding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+
+@Component
+@Profile("sharded")
+public class ShardTopology {
+
+    private final int shardCount;
+
+    private final int shardIndex;
+
+    private final List<URI> nodes;
+
+    public ShardTopology(@Value("${sharding.shard-count}") int shardCount,
+                         @Value("${sharding.shard-index}") int shardIndex,
+                         @Value("${sharding.nodes}") List<URI> nodes) {
+        if (shardCount < 1 || nodes.size() != shardCount) {
+            throw new IllegalStateException("sharding.nodes must list exactly %s node URLs, got %s".formatted(shardCount, nodes));
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalStateException("sharding.shard-index must be between 0 and %s".formatted(shardCount - 1));
+        }
+        this.shardCount = shardCount;
+        this.shardIndex = shardIndex;
+        this.nodes = List.copyOf(nodes);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int ownerOf(int id) {
+        return Math.floorMod(id - 1, shardCount);
+    }
+
+    public boolean isLocal(int shard) {
+        return shard == shardIndex;
+    }
+
+    public URI nodeOf(int shard) {
+        return nodes.get(shard);
+    }
+
+    public int nextOwnedId(int maxId) {
+        return maxId + 1 + Math.floorMod(shardIndex - maxId, shardCount);
+    }
+}
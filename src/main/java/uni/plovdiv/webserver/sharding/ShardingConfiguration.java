@@ -0,0 +1,47 @@
+package uni.plovdiv.webserver.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Configuration
+@Profile("sharded")
+public class ShardingConfiguration {
+
+    private static final List<String> SHARDED_TABLES = List.of("garage", "car", "maintenance");
+
+    @Bean
+    public FilterRegistrationBean<ShardRoutingFilter> shardRoutingFilter(ShardTopology topology, ShardRouter router,
+                                                                        ShardClient shardClient, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ShardRoutingFilter> registration = new FilterRegistrationBean<>(
+                new ShardRoutingFilter(topology, router, shardClient, objectMapper));
+        registration.addUrlPatterns("/cars/*", "/garages/*", "/maintenance/*", "/fleet/*", "/reports/*", "/cars", "/garages", "/maintenance");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardedIdentityMigrationStrategy(ShardTopology topology) {
+        return flyway -> {
+            flyway.migrate();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+            for (String table : SHARDED_TABLES) {
+                Integer maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Integer.class);
+                int nextId = topology.nextOwnedId(maxId);
+                jdbcTemplate.execute("ALTER TABLE %s ALTER COLUMN id RESTART WITH %d SET INCREMENT BY %d"
+                        .formatted(table, nextId, topology.getShardCount()));
+            }
+            log.info("Shard {} of {}: new garage, car and maintenance IDs are allocated with stride {}",
+                    topology.getShardIndex(), topology.getShardCount(), topology.getShardCount());
+        };
+    }
+}
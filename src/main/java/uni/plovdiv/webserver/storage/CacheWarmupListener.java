@@ -0,0 +1,55 @@
+package uni.plovdiv.webserver.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import uni.plovdiv.webserver.repository.GarageDailyOccupancyRepository;
+import uni.plovdiv.webserver.service.GarageCache;
+import uni.plovdiv.webserver.service.GarageService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Component
+@Profile("persistent")
+public class CacheWarmupListener {
+
+    private final GarageDailyOccupancyRepository occupancyRepository;
+
+    private final GarageCache garageCache;
+
+    private final GarageService garageService;
+
+    private final int garages;
+
+    private final int days;
+
+    public CacheWarmupListener(GarageDailyOccupancyRepository occupancyRepository, GarageCache garageCache, GarageService garageService,
+                               @Value("${storage.warmup.garages}") int garages,
+                               @Value("${storage.warmup.days}") int days) {
+        this.occupancyRepository = occupancyRepository;
+        this.garageCache = garageCache;
+        this.garageService = garageService;
+        this.garages = garages;
+        this.days = days;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (garages < 1) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.plusDays(days);
+        List<Integer> garageIds = occupancyRepository.findBusiestGarageIds(startDate, endDate, Limit.of(garages));
+        garageCache.getAllById(garageIds);
+        garageIds.forEach(garageId -> garageService.getDailyAvailabilityReport(garageId, startDate, endDate));
+        log.info("Warmed caches for {} busiest garages in {} ms", garageIds.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
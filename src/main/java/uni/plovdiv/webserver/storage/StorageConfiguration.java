@@ -0,0 +1,70 @@
+package uni.plovdiv.webserver.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.h2.tools.DeleteDbFiles;
+import org.h2.tools.Restore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+@Profile("persistent")
+public class StorageConfiguration {
+
+    @Bean
+    public static BeanPostProcessor snapshotRestoringPostProcessor(@Value("${storage.restore-from}") String restoreFrom,
+                                                                   @Value("${storage.directory}") String directory,
+                                                                   @Value("${storage.database-name}") String databaseName) {
+        AtomicBoolean restored = new AtomicBoolean(restoreFrom.isBlank());
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && restored.compareAndSet(false, true)) {
+                    restoreSnapshot(Path.of(restoreFrom), directory, databaseName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void restoreSnapshot(Path snapshot, String directory, String databaseName) {
+        if (!Files.isRegularFile(snapshot)) {
+            throw new IllegalStateException("snapshot %s does not exist".formatted(snapshot));
+        }
+        long startedAt = System.nanoTime();
+        try {
+            Path target = Files.createDirectories(Path.of(directory));
+            Path staging = Files.createTempDirectory(target, ".restore-");
+            try {
+                Restore.execute(snapshot.toString(), staging.toString(), databaseName);
+                List<Path> restoredFiles;
+                try (Stream<Path> files = Files.list(staging)) {
+                    restoredFiles = files.toList();
+                }
+                DeleteDbFiles.execute(directory, databaseName, true);
+                for (Path file : restoredFiles) {
+                    Files.move(file, target.resolve(file.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                FileSystemUtils.deleteRecursively(staging);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("restoring snapshot %s failed".formatted(snapshot), exception);
+        }
+        log.info("Restored database {} from snapshot {} in {} ms", databaseName, snapshot, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
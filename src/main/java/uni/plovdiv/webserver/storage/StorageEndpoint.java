@@ -0,0 +1,29 @@
+package uni.plovdiv.webserver.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Profile("persistent")
+@Endpoint(id = "storage")
+@RequiredArgsConstructor
+public class StorageEndpoint {
+
+    private final StorageSnapshotService storageSnapshotService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return storageSnapshotService.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> snapshot() {
+        return storageSnapshotService.createSnapshot();
+    }
+}
@@ -0,0 +1,116 @@
+package uni.plovdiv.webserver.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@Profile("persistent")
+public class StorageSnapshotService {
+
+    private static final DateTimeFormatter SNAPSHOT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Path databaseFile;
+
+    private final Path snapshotDirectory;
+
+    private final String databaseName;
+
+    private final int snapshotsRetained;
+
+    private final Lock snapshotLock = new ReentrantLock();
+
+    public StorageSnapshotService(JdbcTemplate jdbcTemplate,
+                                  @Value("${storage.directory}") String directory,
+                                  @Value("${storage.database-name}") String databaseName,
+                                  @Value("${storage.snapshot-directory}") String snapshotDirectory,
+                                  @Value("${storage.snapshots-retained}") int snapshotsRetained) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseFile = Path.of(directory, databaseName + ".mv.db");
+        this.snapshotDirectory = Path.of(snapshotDirectory);
+        this.databaseName = databaseName;
+        this.snapshotsRetained = snapshotsRetained;
+    }
+
+    public Map<String, Object> createSnapshot() {
+        snapshotLock.lock();
+        try {
+            Files.createDirectories(snapshotDirectory);
+            Path snapshot = snapshotDirectory.resolve("%s-%s.zip".formatted(databaseName, LocalDateTime.now().format(SNAPSHOT_TIMESTAMP)));
+            long startedAt = System.nanoTime();
+            jdbcTemplate.execute("BACKUP TO '%s'".formatted(snapshot.toAbsolutePath().toString().replace("'", "''")));
+            long durationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            log.info("Created snapshot {} in {} ms", snapshot, durationMillis);
+            pruneSnapshots();
+            Map<String, Object> result = describe(snapshot);
+            result.put("durationMillis", durationMillis);
+            return result;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("database", databaseFile.toAbsolutePath().toString());
+        status.put("sizeBytes", sizeOf(databaseFile));
+        status.put("snapshots", listSnapshots().stream().map(this::describe).toList());
+        return status;
+    }
+
+    private void pruneSnapshots() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        for (Path snapshot : snapshots.subList(Math.min(snapshotsRetained, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    private List<Path> listSnapshots() {
+        if (!Files.isDirectory(snapshotDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(snapshotDirectory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(databaseName + "-") && file.toString().endsWith(".zip"))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private Map<String, Object> describe(Path snapshot) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("path", snapshot.toAbsolutePath().toString());
+        description.put("sizeBytes", sizeOf(snapshot));
+        return description;
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
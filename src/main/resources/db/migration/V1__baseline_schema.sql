@@ -0,0 +1,44 @@
+CREATE TABLE garage (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    location VARCHAR(255),
+    city VARCHAR(255),
+    capacity INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE car (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    make VARCHAR(255),
+    model VARCHAR(255),
+    production_year INTEGER,
+    license_palte VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE car_garages (
+    car_id INTEGER NOT NULL,
+    garage_id INTEGER NOT NULL,
+    PRIMARY KEY (car_id, garage_id),
+    CONSTRAINT fk_car_garages_car FOREIGN KEY (car_id) REFERENCES car (id),
+    CONSTRAINT fk_car_garages_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+);
+
+CREATE TABLE maintenance (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    car_id INTEGER NOT NULL,
+    garage_id INTEGER NOT NULL,
+    service_type VARCHAR(255),
+    scheduled_date DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_maintenance_car FOREIGN KEY (car_id) REFERENCES car (id),
+    CONSTRAINT fk_maintenance_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+);
+
+CREATE TABLE garage_daily_occupancy (
+    garage_id INTEGER NOT NULL,
+    scheduled_date DATE NOT NULL,
+    requests INTEGER,
+    version BIGINT,
+    PRIMARY KEY (garage_id, scheduled_date)
+);
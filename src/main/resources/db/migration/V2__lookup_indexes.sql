@@ -0,0 +1,6 @@
+CREATE INDEX IF NOT EXISTS idx_maintenance_garage_date ON maintenance (garage_id, scheduled_date, id);
+CREATE INDEX IF NOT EXISTS idx_maintenance_car ON maintenance (car_id, scheduled_date);
+CREATE INDEX IF NOT EXISTS idx_maintenance_date ON maintenance (scheduled_date, id);
+CREATE INDEX IF NOT EXISTS idx_car_make_year ON car (make, production_year);
+CREATE INDEX IF NOT EXISTS idx_car_garages_garage_car ON car_garages (garage_id, car_id);
+CREATE INDEX IF NOT EXISTS idx_garage_city ON garage (city);
@@ -0,0 +1,3 @@
+ALTER TABLE garage ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE car ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE maintenance ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
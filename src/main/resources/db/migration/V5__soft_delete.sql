@@ -0,0 +1,4 @@
+ALTER TABLE garage ADD COLUMN IF NOT EXISTS deleted BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE car ADD COLUMN IF NOT EXISTS deleted BOOLEAN DEFAULT FALSE NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_garage_deleted ON garage (deleted);
+CREATE INDEX IF NOT EXISTS idx_car_deleted ON car (deleted);
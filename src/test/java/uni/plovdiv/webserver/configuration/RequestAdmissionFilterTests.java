@@ -0,0 +1,59 @@
+package uni.plovdiv.webserver.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestAdmissionFilterTests {
+
+	private final RequestAdmissionFilter filter = new RequestAdmissionFilter(1, Duration.ofMillis(50), new ObjectMapper(), Set.of("/maintenance/events"));
+
+	@Test
+	void asyncRequestHoldsPermitUntilItCompletes() throws Exception {
+		MockHttpServletRequest streaming = request("/maintenance/stream");
+		filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+		assertTrue(streaming.isAsyncStarted());
+
+		assertEquals(503, perform("/maintenance").getStatus());
+
+		streaming.getAsyncContext().complete();
+		assertEquals(200, perform("/maintenance").getStatus());
+	}
+
+	@Test
+	void unmeteredPathsBypassAdmission() throws Exception {
+		MockHttpServletRequest streaming = request("/maintenance/stream");
+		filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+		MockHttpServletRequest subscription = request("/maintenance/events");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(subscription, response, (servletRequest, servletResponse) -> servletRequest.startAsync());
+		assertEquals(200, response.getStatus());
+		assertEquals(503, perform("/maintenance").getStatus());
+
+		streaming.getAsyncContext().complete();
+		assertEquals(200, perform("/maintenance").getStatus());
+	}
+
+	private MockHttpServletResponse perform(String path) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (request, servletResponse) -> {
+		};
+		filter.doFilter(request(path), response, chain);
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setAsyncSupported(true);
+		return request;
+	}
+}
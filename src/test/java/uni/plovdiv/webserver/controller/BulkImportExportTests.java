@@ -0,0 +1,173 @@
+package uni.plovdiv.webserver.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.GarageService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkImportExportTests {
+
+	private static final String NDJSON = "application/x-ndjson";
+
+	private static final String CSV = "text/csv";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void ndjsonImportReportsBadRowsAndImportsTheRest() throws Exception {
+		String city = "Bulk NDJSON";
+		String body = String.join("\n",
+				"{\"name\":\"First\",\"location\":\"North\",\"city\":\"%s\",\"capacity\":2}".formatted(city),
+				"{\"location\":\"North\",\"city\":\"%s\",\"capacity\":2}".formatted(city),
+				"{\"name\":\"Typed\",\"location\":\"North\",\"city\":\"%s\",\"capacity\":\"many\"}".formatted(city),
+				"{\"name\":\"Empty\",\"location\":\"North\",\"city\":\"%s\",\"capacity\":0}".formatted(city),
+				"{\"name\":\"Last\",\"location\":\"North\",\"city\":\"%s\",\"capacity\":3}".formatted(city));
+
+		List<JsonNode> events = importRecords("/garages/import", NDJSON, body);
+
+		assertEquals(List.of(3L, 2L, 4L), errorRecords(events));
+		assertEquals("name, city and capacity are required", events.get(1).path("error").asText());
+		assertEquals("capacity must be positive", events.get(2).path("error").asText());
+		assertProgress(events.get(events.size() - 1), 5, 2, 3, true);
+		assertEquals(List.of("First", "Last"), garageService.findAll(city).stream().map(ResponseGarageDTO::name).sorted().toList());
+	}
+
+	@Test
+	void csvImportSplitsListColumnsAndReportsMissingGarages() throws Exception {
+		ResponseGarageDTO north = garageService.createGarage(new CreateGarageDTO("North", "North", "Bulk CSV", 2));
+		ResponseGarageDTO south = garageService.createGarage(new CreateGarageDTO("South", "South", "Bulk CSV", 2));
+		String body = String.join("\n",
+				"make,model,productionYear,licensePlate,garageIds",
+				"Bulkmobile,One,2015,BC%04dAA,%d;%d".formatted(north.id(), north.id(), south.id()),
+				"Bulkmobile,Two,2016,BC%04dBB,%d;999999".formatted(north.id(), north.id()),
+				"Bulkmobile,,2017,BC%04dCC,".formatted(north.id()),
+				"");
+
+		List<JsonNode> events = importRecords("/cars/import", CSV, body);
+
+		assertEquals(List.of(2L, 3L), errorRecords(events));
+		assertEquals("Missing garages with IDs - [999999]", events.get(0).path("error").asText());
+		assertEquals("make, model and licensePlate are required", events.get(1).path("error").asText());
+		assertProgress(events.get(events.size() - 1), 3, 1, 2, true);
+		List<ResponseCarDTO> cars = carService.findAll("Bulkmobile", north.id(), null, null);
+		assertEquals(1, cars.size());
+		assertEquals("One", cars.get(0).model());
+		assertEquals(List.of(cars.get(0).id()), carService.findAll("Bulkmobile", south.id(), null, null).stream().map(ResponseCarDTO::id).toList());
+	}
+
+	@Test
+	void unreadableInputStopsImportAfterCommittingEarlierChunks() throws Exception {
+		String city = "Bulk chunks";
+		String body = IntStream.rangeClosed(1, 1001)
+				.mapToObj(index -> "{\"name\":\"Garage %d\",\"location\":\"Street\",\"city\":\"%s\",\"capacity\":1}".formatted(index, city))
+				.collect(Collectors.joining("\n")) + "\n{\"name\":\"Broken\",\"city\":";
+
+		List<JsonNode> events = importRecords("/garages/import", NDJSON, body);
+
+		assertProgress(events.get(0), 1000, 1000, 0, false);
+		assertEquals(1002, events.get(1).path("record").asLong());
+		assertTrue(events.get(1).path("error").asText().startsWith("unreadable input, import stopped: "));
+		assertProgress(events.get(2), 1001, 1001, 1, false);
+		assertEquals(3, events.size());
+		assertEquals(1001, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM garage WHERE city = ?", Integer.class, city));
+	}
+
+	@Test
+	void exportedCarsCanBeImportedAgain() throws Exception {
+		ResponseGarageDTO first = garageService.createGarage(new CreateGarageDTO("Export A", "East", "Bulk export", 2));
+		ResponseGarageDTO second = garageService.createGarage(new CreateGarageDTO("Export B", "West", "Bulk export", 2));
+		String plate = "EX%04dRT".formatted(first.id());
+		importRecords("/cars/import", CSV, "make,model,productionYear,licensePlate,garageIds\nRoundtrip,Wagon,2012,%s,%d;%d\n"
+				.formatted(plate, second.id(), first.id()));
+
+		String exported = exportedLines("/cars/export", "CSV").stream()
+				.filter(line -> line.startsWith("id,") || line.contains(plate))
+				.collect(Collectors.joining("\n"));
+		assertEquals("id,make,model,productionYear,licensePlate,garageIds\n%d,Roundtrip,Wagon,2012,%s,%d;%d"
+				.formatted(carId(plate), plate, first.id(), second.id()), exported);
+
+		List<JsonNode> events = importRecords("/cars/import", CSV, exported + "\n");
+		assertProgress(events.get(events.size() - 1), 1, 1, 0, true);
+
+		List<JsonNode> records = exportedLines("/cars/export", "NDJSON").stream()
+				.map(this::readTree)
+				.filter(record -> record.path("licensePlate").asText().equals(plate))
+				.toList();
+		assertEquals(2, records.size());
+		for (JsonNode record : records) {
+			assertEquals("Roundtrip", record.path("make").asText());
+			assertEquals(2012, record.path("productionYear").asInt());
+			assertEquals(objectMapper.valueToTree(List.of(first.id(), second.id())), record.path("garageIds"));
+		}
+	}
+
+	private List<JsonNode> importRecords(String path, String contentType, String body) throws Exception {
+		String response = mockMvc.perform(post(path).contentType(contentType).content(body))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return response.lines().filter(line -> !line.isBlank()).map(this::readTree).toList();
+	}
+
+	private List<String> exportedLines(String path, String format) throws Exception {
+		return mockMvc.perform(get(path).param("format", format))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString().lines().toList();
+	}
+
+	private int carId(String plate) {
+		return jdbcTemplate.queryForObject("SELECT MIN(id) FROM car WHERE license_palte = ?", Integer.class, plate);
+	}
+
+	private JsonNode readTree(String line) {
+		try {
+			return objectMapper.readTree(line);
+		} catch (Exception exception) {
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	private static List<Long> errorRecords(List<JsonNode> events) {
+		return events.stream().filter(event -> event.has("error")).map(event -> event.path("record").asLong()).toList();
+	}
+
+	private static void assertProgress(JsonNode event, long processed, long imported, long failed, boolean completed) {
+		assertEquals(processed, event.path("processed").asLong());
+		assertEquals(imported, event.path("imported").asLong());
+		assertEquals(failed, event.path("failed").asLong());
+		assertEquals(completed, event.path("completed").asBoolean());
+	}
+}
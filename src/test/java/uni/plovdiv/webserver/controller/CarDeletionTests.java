@@ -0,0 +1,81 @@
+package uni.plovdiv.webserver.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.maintenance.ResponseMaintenanceDTO;
+import uni.plovdiv.webserver.exception.RequestValidationException;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.EntityVersionCache;
+import uni.plovdiv.webserver.service.GarageService;
+import uni.plovdiv.webserver.service.MaintenanceService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CarDeletionTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	@MockitoSpyBean
+	private EntityVersionCache entityVersionCache;
+
+	@Test
+	void failedReleaseOfBookingsFailsTheDeleteAndKeepsTheCar() throws Exception {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Deletion", "Center", "Yambol", 2));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Mazda", "3", 2014, "Y%04dDL".formatted(garage.id()), List.of(garage.id())));
+		ResponseMaintenanceDTO maintenance = maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", LocalDate.now().plusDays(60), garage.id()));
+		doThrow(new RequestValidationException("bookings of car %s could not be released".formatted(car.id())))
+				.when(entityVersionCache).maintenanceDeleted(maintenance.id());
+
+		mockMvc.perform(delete("/cars/{id}", car.id()))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("bookings of car %s could not be released".formatted(car.id())));
+
+		mockMvc.perform(get("/cars/{id}", car.id()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(car.id()));
+		mockMvc.perform(get("/maintenance/{id}", maintenance.id()))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void deletedCarIsGone() throws Exception {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Deletion", "Center", "Yambol", 2));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Mazda", "6", 2015, "Y%04dGN".formatted(garage.id()), List.of(garage.id())));
+
+		mockMvc.perform(delete("/cars/{id}", car.id()))
+				.andExpect(status().isOk())
+				.andExpect(content().string("true"));
+
+		mockMvc.perform(get("/cars/{id}", car.id()))
+				.andExpect(status().isNotFound());
+	}
+}
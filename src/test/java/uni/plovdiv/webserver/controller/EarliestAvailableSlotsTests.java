@@ -0,0 +1,131 @@
+package uni.plovdiv.webserver.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.AvailableSlotDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.GarageOccupancyCalendar;
+import uni.plovdiv.webserver.service.GarageService;
+import uni.plovdiv.webserver.service.MaintenanceService;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EarliestAvailableSlotsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	@Autowired
+	private GarageOccupancyCalendar occupancyCalendar;
+
+	@Test
+	void slotsAreRankedByDateThenFreeCapacityThenGarageAndCutAcrossDays() throws Exception {
+		Scenario scenario = bookScenario("Slots calendar", LocalDate.now().plusDays(20));
+		assertNotNull(occupancyCalendar.getDailyRequests(scenario.first.id(), scenario.day, scenario.day.plusDays(1)));
+
+		assertEquals(scenario.expectedSlots(), findSlots(scenario, 4));
+	}
+
+	@Test
+	void ledgerIsUsedWhenRangeIsOutsideTheCalendar() throws Exception {
+		Scenario scenario = bookScenario("Slots ledger", LocalDate.now().plusDays(450));
+		assertNull(occupancyCalendar.getDailyRequests(scenario.first.id(), scenario.day, scenario.day.plusDays(1)));
+
+		assertEquals(scenario.expectedSlots(), findSlots(scenario, 4));
+	}
+
+	@Test
+	void limitCutsWithinTheFirstDay() throws Exception {
+		Scenario scenario = bookScenario("Slots limit", LocalDate.now().plusDays(30));
+
+		assertEquals(scenario.expectedSlots().subList(0, 1), findSlots(scenario, 1));
+	}
+
+	@Test
+	void unknownCarIsNotFound() throws Exception {
+		LocalDate day = LocalDate.now().plusDays(20);
+		mockMvc.perform(get("/garages/earliestAvailableSlots")
+						.param("city", "Slots unknown").param("carId", "999999")
+						.param("startDate", day.toString()).param("endDate", day.toString()))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").exists());
+	}
+
+	@Test
+	void carWithoutGaragesInCityHasNoSlots() throws Exception {
+		Scenario scenario = bookScenario("Slots elsewhere", LocalDate.now().plusDays(20));
+
+		assertEquals(List.of(), findSlots(scenario.car.id(), "Slots nowhere", scenario.day, 4));
+	}
+
+	private Scenario bookScenario(String city, LocalDate day) {
+		ResponseGarageDTO first = garageService.createGarage(new CreateGarageDTO("First", "North", city, 3));
+		ResponseGarageDTO second = garageService.createGarage(new CreateGarageDTO("Second", "South", city, 3));
+		ResponseGarageDTO full = garageService.createGarage(new CreateGarageDTO("Full", "East", city, 2));
+		garageService.createGarage(new CreateGarageDTO("Unregistered", "West", city, 5));
+		ResponseGarageDTO elsewhere = garageService.createGarage(new CreateGarageDTO("Elsewhere", "West", city + " suburbs", 5));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Skoda", "Octavia", 2018, "S%04dSL".formatted(first.id()),
+				List.of(first.id(), second.id(), full.id(), elsewhere.id())));
+		maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", day, first.id()));
+		maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", day, full.id()));
+		maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Tyres", day, full.id()));
+		return new Scenario(city, day, car, first, second);
+	}
+
+	private List<AvailableSlotDTO> findSlots(Scenario scenario, int limit) throws Exception {
+		return findSlots(scenario.car.id(), scenario.city, scenario.day, limit);
+	}
+
+	private List<AvailableSlotDTO> findSlots(Integer carId, String city, LocalDate day, int limit) throws Exception {
+		String response = mockMvc.perform(get("/garages/earliestAvailableSlots")
+						.param("city", city).param("carId", carId.toString())
+						.param("startDate", day.toString()).param("endDate", day.plusDays(1).toString())
+						.param("limit", String.valueOf(limit)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return Arrays.asList(objectMapper.readValue(response, AvailableSlotDTO[].class));
+	}
+
+	private record Scenario(String city, LocalDate day, ResponseCarDTO car, ResponseGarageDTO first, ResponseGarageDTO second) {
+
+		private List<AvailableSlotDTO> expectedSlots() {
+			return List.of(
+					new AvailableSlotDTO(second.id(), "Second", day, 3),
+					new AvailableSlotDTO(first.id(), "First", day, 2),
+					new AvailableSlotDTO(first.id(), "First", day.plusDays(1), 3),
+					new AvailableSlotDTO(second.id(), "Second", day.plusDays(1), 3));
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package uni.plovdiv.webserver.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.DailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.GarageService;
+import uni.plovdiv.webserver.service.MaintenanceService;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MaintenanceBatchTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final LocalDate day = LocalDate.now().plusDays(40);
+
+	private ResponseGarageDTO garage;
+
+	private ResponseCarDTO car;
+
+	private List<CreateMaintenanceDTO> batch;
+
+	@BeforeEach
+	void bookOneOfTwoSlots() {
+		garage = garageService.createGarage(new CreateGarageDTO("Batch", "Center", "Pleven", 2));
+		car = carService.createCar(new CreateCarDTO("Honda", "Civic", 2017, "E%04dBT".formatted(garage.id()), List.of(garage.id())));
+		maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", day, garage.id()));
+		batch = List.of(
+				new CreateMaintenanceDTO(car.id(), "Tyres", day.plusDays(1), garage.id()),
+				new CreateMaintenanceDTO(car.id(), "Brakes", day, garage.id()),
+				new CreateMaintenanceDTO(car.id(), "Filters", day, garage.id()));
+	}
+
+	@Test
+	void rejectedAllOrNothingBatchLeavesMaintenanceAndOccupancyUnchanged() throws Exception {
+		List<Map<String, Object>> maintenanceBefore = maintenanceRows();
+		List<Map<String, Object>> occupancyBefore = occupancyRows();
+		List<DailyAvailabilityReportDTO> availabilityBefore = availability();
+
+		mockMvc.perform(post("/maintenance/batch").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(batch)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.applied").value(false))
+				.andExpect(jsonPath("$.created").value(0))
+				.andExpect(jsonPath("$.failed").value(3))
+				.andExpect(jsonPath("$.results[0].error").value("not applied because other items in the batch failed"))
+				.andExpect(jsonPath("$.results[2].error").value(startsWith("garage with ID %s does not have capacity".formatted(garage.id()))));
+
+		assertEquals(maintenanceBefore, maintenanceRows());
+		assertEquals(occupancyBefore, occupancyRows());
+		assertEquals(availabilityBefore, availability());
+	}
+
+	@Test
+	void bestEffortBatchCreatesItemsThatFitAndReservesOnlyThem() throws Exception {
+		mockMvc.perform(post("/maintenance/batch").param("mode", "BEST_EFFORT")
+						.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(batch)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.applied").value(true))
+				.andExpect(jsonPath("$.created").value(2))
+				.andExpect(jsonPath("$.failed").value(1))
+				.andExpect(jsonPath("$.results[0].success").value(true))
+				.andExpect(jsonPath("$.results[1].success").value(true))
+				.andExpect(jsonPath("$.results[2].success").value(false))
+				.andExpect(jsonPath("$.results[2].error").value(startsWith("garage with ID %s does not have capacity".formatted(garage.id()))));
+
+		assertEquals(3, maintenanceRows().size());
+		assertEquals(List.of(
+				Map.of("SCHEDULED_DATE", Date.valueOf(day), "REQUESTS", 2),
+				Map.of("SCHEDULED_DATE", Date.valueOf(day.plusDays(1)), "REQUESTS", 1)), occupancyRows());
+		assertEquals(List.of(new DailyAvailabilityReportDTO(day, 2, 0), new DailyAvailabilityReportDTO(day.plusDays(1), 1, 1)), availability());
+	}
+
+	private List<Map<String, Object>> maintenanceRows() {
+		return jdbcTemplate.queryForList("SELECT id, service_type, scheduled_date FROM maintenance WHERE garage_id = ? ORDER BY id", garage.id());
+	}
+
+	private List<Map<String, Object>> occupancyRows() {
+		return jdbcTemplate.queryForList("SELECT scheduled_date, requests FROM garage_daily_occupancy WHERE garage_id = ? ORDER BY scheduled_date", garage.id());
+	}
+
+	private List<DailyAvailabilityReportDTO> availability() {
+		return garageService.getDailyAvailabilityReport(garage.id(), day, day.plusDays(1));
+	}
+}
@@ -0,0 +1,110 @@
+package uni.plovdiv.webserver.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.maintenance.ResponseMaintenanceDTO;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.GarageService;
+import uni.plovdiv.webserver.service.MaintenanceEventBuffer;
+import uni.plovdiv.webserver.service.MaintenanceService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MaintenanceEventsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	@Autowired
+	private MaintenanceEventBuffer eventBuffer;
+
+	private final LocalDate day = LocalDate.now().plusDays(50);
+
+	@Test
+	void subscriberReceivesOnlyEventsOfItsGarage() throws Exception {
+		ResponseGarageDTO watched = garageService.createGarage(new CreateGarageDTO("Watched", "Center", "Vidin", 2));
+		ResponseGarageDTO other = garageService.createGarage(new CreateGarageDTO("Other", "Center", "Vidin", 2));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Kia", "Ceed", 2018, "V%04dEV".formatted(watched.id()), List.of(watched.id(), other.id())));
+
+		MvcResult subscription = subscribe("/maintenance/events?garageId=%d".formatted(watched.id()), null);
+		ResponseMaintenanceDTO otherMaintenance = maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", day, other.id()));
+		ResponseMaintenanceDTO watchedMaintenance = maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", day, watched.id()));
+
+		String content = awaitContent(subscription, "\"maintenanceIds\":[%d]".formatted(watchedMaintenance.id()));
+		assertTrue(content.contains("event:maintenance"));
+		assertFalse(content.contains("\"maintenanceIds\":[%d]".formatted(otherMaintenance.id())));
+	}
+
+	@Test
+	void reconnectingSubscriberReplaysEventsAfterLastEventId() throws Exception {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Replay", "Center", "Lovech", 2));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Kia", "Rio", 2019, "L%04dEV".formatted(garage.id()), List.of(garage.id())));
+		long lastSeen = eventBuffer.lastSequence();
+		ResponseMaintenanceDTO missed = maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", day, garage.id()));
+
+		MvcResult subscription = subscribe("/maintenance/events?garageId=%d".formatted(garage.id()), lastSeen);
+
+		awaitContent(subscription, "\"maintenanceIds\":[%d]".formatted(missed.id()));
+	}
+
+	@Test
+	void lastEventIdAheadOfHeadAfterRestartResetsSubscriber() throws Exception {
+		long head = eventBuffer.lastSequence();
+
+		MvcResult subscription = subscribe("/maintenance/events", head + 1000);
+
+		awaitContent(subscription, "id:%d\nevent:reset\ndata:{\"sequence\":%d}".formatted(head, head));
+	}
+
+	@Test
+	void subscribingToUnknownGarageIsRejected() throws Exception {
+		mockMvc.perform(get("/maintenance/events").param("garageId", "999999"))
+				.andExpect(status().isNotFound());
+	}
+
+	private MvcResult subscribe(String path, Long lastEventId) throws Exception {
+		return mockMvc.perform(lastEventId != null ? get(path).header("Last-Event-ID", lastEventId) : get(path))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+	}
+
+	private static String awaitContent(MvcResult subscription, String expected) throws Exception {
+		for (int attempt = 0; attempt < 100; attempt++) {
+			String content = subscription.getResponse().getContentAsString();
+			if (content.contains(expected)) {
+				return content;
+			}
+			Thread.sleep(50);
+		}
+		fail("event stream never contained %s: %s".formatted(expected, subscription.getResponse().getContentAsString()));
+		return null;
+	}
+}
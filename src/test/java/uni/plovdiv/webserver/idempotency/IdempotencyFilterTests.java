@@ -0,0 +1,153 @@
+package uni.plovdiv.webserver.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.GarageService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "idempotency.persistence.enabled=true")
+@AutoConfigureMockMvc
+class IdempotencyFilterTests {
+
+	private static final LocalDate DAY = LocalDate.of(2034, 4, 2);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private IdempotencyStore idempotencyStore;
+
+	@Autowired
+	private IdempotencyRecordRepository recordRepository;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private ResponseGarageDTO garage;
+
+	private ResponseCarDTO car;
+
+	private String key;
+
+	@BeforeEach
+	void createCar() {
+		garage = garageService.createGarage(new CreateGarageDTO("Idempotent", "Center", "Sofia", 5));
+		car = carService.createCar(new CreateCarDTO("Fiat", "Punto", 2014, "C%04dID".formatted(garage.id()), List.of(garage.id())));
+		key = UUID.randomUUID().toString();
+	}
+
+	@Test
+	void retriedCreateIsReplayedWithoutSecondInsertOrReservation() throws Exception {
+		byte[] body = objectMapper.writeValueAsBytes(new CreateMaintenanceDTO(car.id(), "Oil", DAY, garage.id()));
+
+		MvcResult first = mockMvc.perform(post("/maintenance").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+						.contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED))
+				.andReturn();
+		MvcResult replayed = mockMvc.perform(post("/maintenance").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+						.contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+				.andReturn();
+
+		assertArrayEquals(first.getResponse().getContentAsByteArray(), replayed.getResponse().getContentAsByteArray());
+		assertEquals(1, countRows("SELECT COUNT(*) FROM maintenance WHERE garage_id = ? AND scheduled_date = ?"));
+		assertEquals(1, countRows("SELECT requests FROM garage_daily_occupancy WHERE garage_id = ? AND scheduled_date = ?"));
+	}
+
+	@Test
+	void reusedKeyWithDifferentRequestIsRejected() throws Exception {
+		mockMvc.perform(post("/maintenance").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsBytes(new CreateMaintenanceDTO(car.id(), "Oil", DAY, garage.id()))))
+				.andExpect(status().isOk());
+		mockMvc.perform(post("/maintenance").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsBytes(new CreateMaintenanceDTO(car.id(), "Brakes", DAY, garage.id()))))
+				.andExpect(status().isUnprocessableEntity());
+
+		assertEquals(1, countRows("SELECT COUNT(*) FROM maintenance WHERE garage_id = ? AND scheduled_date = ?"));
+	}
+
+	@Test
+	void keyInFlightIsRejected() throws Exception {
+		assertTrue(idempotencyStore.tryAcquire(key));
+		try {
+			mockMvc.perform(post("/maintenance").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(objectMapper.writeValueAsBytes(new CreateMaintenanceDTO(car.id(), "Oil", DAY, garage.id()))))
+					.andExpect(status().isConflict());
+		} finally {
+			idempotencyStore.release(key);
+		}
+
+		assertEquals(0, countRows("SELECT COUNT(*) FROM maintenance WHERE garage_id = ? AND scheduled_date = ?"));
+	}
+
+	@Test
+	void serverErrorsAreNotStored() throws Exception {
+		byte[] body = objectMapper.writeValueAsBytes(new CreateMaintenanceDTO(Integer.MAX_VALUE, "Oil", DAY, garage.id()));
+
+		for (int attempt = 0; attempt < 2; attempt++) {
+			mockMvc.perform(post("/maintenance").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+							.contentType(MediaType.APPLICATION_JSON).content(body))
+					.andExpect(status().isInternalServerError())
+					.andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+		}
+
+		assertTrue(idempotencyStore.find(key).isEmpty());
+	}
+
+	@Test
+	void persistedResponsesSurviveAnEmptyCache() throws Exception {
+		byte[] body = objectMapper.writeValueAsBytes(new CreateMaintenanceDTO(car.id(), "Oil", DAY, garage.id()));
+		MvcResult first = mockMvc.perform(post("/maintenance").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+						.contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk())
+				.andReturn();
+
+		IdempotencyStore restartedStore = new IdempotencyStore(recordRepository, true, 100, Duration.ofHours(1));
+		StoredResponse persisted = restartedStore.find(key).orElseThrow();
+		assertEquals(200, persisted.status());
+		assertArrayEquals(first.getResponse().getContentAsByteArray(), persisted.body());
+	}
+
+	private int countRows(String sql) {
+		return jdbcTemplate.queryForObject(sql, Integer.class, garage.id(), DAY);
+	}
+}
@@ -0,0 +1,94 @@
+package uni.plovdiv.webserver.instrumentation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.GarageService;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestInstrumentationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Test
+	void requestStatementsAndRowsAreCountedAtTheDataSource() throws Exception {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Metrics", "Center", "Burgas", 2));
+		carService.createCar(new CreateCarDTO("Audi", "A4", 2016, "A%04dMT".formatted(garage.id()), List.of(garage.id())));
+
+		mockMvc.perform(get("/cars").param("garageId", garage.id().toString())).andExpect(status().isOk());
+
+		DistributionSummary statements = meterRegistry.get("webserver.request.jdbc.statements").tag("uri", "/cars").summary();
+		assertTrue(statements.count() > 0);
+		assertTrue(statements.totalAmount() > 0);
+		DistributionSummary rows = meterRegistry.get("webserver.request.jdbc.rows").tag("uri", "/cars").summary();
+		assertTrue(rows.count() > 0);
+		assertTrue(rows.totalAmount() > 0);
+		assertTrue(dataSource instanceof InstrumentedDataSource);
+	}
+
+	@Test
+	void jdbcTemplateStatementsAndRowsAreCounted() {
+		garageService.createGarage(new CreateGarageDTO("Template A", "Center", "Sliven", 2));
+		garageService.createGarage(new CreateGarageDTO("Template B", "Center", "Sliven", 2));
+
+		RequestQueryStats.begin();
+		jdbcTemplate.queryForList("SELECT id FROM garage WHERE city = ?", Integer.class, "Sliven");
+		jdbcTemplate.update("UPDATE garage SET capacity = capacity WHERE city = ?", "Sliven");
+		RequestQueryStats stats = RequestQueryStats.end();
+
+		assertEquals(2, stats.getStatements());
+		assertEquals(2, stats.getRows());
+	}
+
+	@Test
+	void connectionsOutsideRequestsAreNotProxied() throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			assertFalse(Proxy.isProxyClass(connection.getClass()));
+		}
+	}
+
+	@Test
+	void queriesOutsideRequestsDoNotCollectStats() {
+		garageService.findAll("Burgas");
+
+		assertNull(RequestQueryStats.end());
+	}
+}
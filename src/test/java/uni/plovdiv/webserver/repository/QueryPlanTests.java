@@ -0,0 +1,118 @@
+package uni.plovdiv.webserver.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=uni.plovdiv.webserver.repository.QueryPlanTests$RecordingStatementInspector")
+class QueryPlanTests {
+
+	private static final LocalDate START = LocalDate.of(2032, 1, 1);
+
+	private static final LocalDate END = START.plusMonths(1);
+
+	private static final Pattern UNCONDITIONAL_SCAN = Pattern.compile("/\\* PUBLIC\\.[\\w.]+ \\*/");
+
+	@Autowired
+	private MaintenanceRepository maintenanceRepository;
+
+	@Autowired
+	private CarRepository carRepository;
+
+	@Autowired
+	private GarageDailyOccupancyRepository occupancyRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void analyze() {
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@Test
+	void migrationsCreateLookupIndexes() {
+		List<String> indexes = jdbcTemplate.queryForList(
+				"SELECT LOWER(index_name) FROM information_schema.indexes WHERE table_schema = 'PUBLIC'", String.class);
+
+		assertTrue(indexes.containsAll(List.of("idx_maintenance_garage_date", "idx_maintenance_car", "idx_maintenance_date",
+				"idx_car_make_year", "idx_car_garages_garage_car", "idx_garage_city")), "missing lookup indexes in " + indexes);
+	}
+
+	@Test
+	void maintenanceQueriesUseIndexes() {
+		assertNoFullScans(() -> maintenanceRepository.findByGarageIdAndScheduledDateBetween(1, START, END));
+		assertNoFullScans(() -> maintenanceRepository.findViews(1, null, null, null));
+		assertNoFullScans(() -> maintenanceRepository.findViews(1, null, START, END));
+		assertNoFullScans(() -> maintenanceRepository.findViews(null, 1, null, null));
+		assertNoFullScans(() -> maintenanceRepository.findViews(null, null, START, END));
+		assertNoFullScans(() -> maintenanceRepository.findViewsPage(1, null, START, END, START, 10, Limit.of(100)));
+		assertNoFullScans(() -> maintenanceRepository.findViewsPage(null, null, null, null, START, 10, Limit.of(100)));
+		assertNoFullScans(() -> transactionTemplate.executeWithoutResult(status ->
+				maintenanceRepository.streamViews(null, 1, START, END).close()));
+		assertNoFullScans(() -> maintenanceRepository.countMonthlyRequests(1, START, END));
+		assertNoFullScans(() -> maintenanceRepository.countMonthlyRequestsByCity("Plovdiv", START, END));
+	}
+
+	@Test
+	void carQueriesUseIndexes() {
+		assertNoFullScans(() -> carRepository.findViewsByMakeAndGaragesIdAndProductionYear("Opel", null, null, null));
+		assertNoFullScans(() -> carRepository.findViewsByMakeAndGaragesIdAndProductionYear("Opel", null, 2010, 2020));
+		assertNoFullScans(() -> carRepository.findViewsByMakeAndGaragesIdAndProductionYear(null, 1, null, null));
+		assertNoFullScans(() -> carRepository.findViewsByMakeAndGaragesIdAndProductionYear("Opel", 1, 2010, null));
+		assertNoFullScans(() -> carRepository.findGarageViewsByCarIds(List.of(1, 2, 3)));
+		assertNoFullScans(() -> carRepository.findViewsByIds(List.of(1, 2, 3)));
+		assertNoFullScans(() -> carRepository.existsByIdAndGaragesId(1, 1));
+	}
+
+	@Test
+	void occupancyQueriesUseIndexes() {
+		assertNoFullScans(() -> occupancyRepository.findDailyRequests(1, START, END));
+		assertNoFullScans(() -> occupancyRepository.findRegisteredGarageOccupancy(1, "Plovdiv", START, END));
+		assertNoFullScans(() -> occupancyRepository.findOccupancyByGarageIds(List.of(1, 2, 3), START, END));
+	}
+
+	private void assertNoFullScans(Runnable repositoryCall) {
+		RecordingStatementInspector.STATEMENTS.clear();
+		repositoryCall.run();
+		List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+
+		assertFalse(statements.isEmpty(), "repository call issued no statements");
+		for (String statement : statements) {
+			String plan = jdbcTemplate.queryForObject("EXPLAIN " + statement, String.class, new Object[countParameters(statement)]);
+			assertFalse(UNCONDITIONAL_SCAN.matcher(plan).find(), "full scan in plan:\n" + plan);
+		}
+	}
+
+	private static int countParameters(String statement) {
+		return (int) statement.chars().filter(character -> character == '?').count();
+	}
+
+	public static class RecordingStatementInspector implements StatementInspector {
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package uni.plovdiv.webserver.service;
+
+import org.junit.jupiter.api.Test;
+import uni.plovdiv.webserver.repository.projection.CarView;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CarSearchIndexTests {
+
+	private final CarSearchIndex index = new CarSearchIndex();
+
+	@Test
+	void exactLicensePlateRanksAbovePrefixAboveInfix() {
+		index.put(new CarView(1, "Lada", "Niva", 2001, "XCA1234"));
+		index.put(new CarView(2, "Lada", "Niva", 2002, "CA12345"));
+		index.put(new CarView(3, "Lada", "Niva", 2003, "CA1234"));
+		index.put(new CarView(4, "Lada", "Niva", 2004, "CB1234"));
+
+		assertEquals(new CarSearchIndex.Hits(List.of(3, 2, 1), 3), index.search("ca1234", 0, 10));
+		assertEquals(new CarSearchIndex.Hits(List.of(2, 1), 3), index.search("CA-1234", 1, 10));
+	}
+
+	@Test
+	void licensePlateOutweighsMakeOutweighsModel() {
+		index.put(new CarView(1, "Ford", "Opel", 2010, "PB0001AA"));
+		index.put(new CarView(2, "Ford", "Focus", 2011, "OPEL123"));
+		index.put(new CarView(3, "Opel", "Astra", 2012, "PB0003AA"));
+		index.put(new CarView(4, "Opel", "Corsa", 2013, "OPEL"));
+
+		assertEquals(List.of(4, 3, 2, 1), index.search("opel", 0, 10).ids());
+	}
+
+	@Test
+	void everyTermMustMatch() {
+		index.put(new CarView(1, "Opel", "Astra", 2010, "PB0001AA"));
+		index.put(new CarView(2, "Opel", "Corsa", 2011, "PB0002AA"));
+		index.put(new CarView(3, "Ford", "Astra", 2012, "PB0003AA"));
+
+		assertEquals(new CarSearchIndex.Hits(List.of(1), 1), index.search("opel astra", 0, 10));
+		assertEquals(new CarSearchIndex.Hits(List.of(3), 1), index.search("astra PB0003", 0, 10));
+		assertEquals(new CarSearchIndex.Hits(List.of(), 0), index.search("ford corsa", 0, 10));
+	}
+
+	@Test
+	void splitLicensePlateMatchesConcatenatedPlate() {
+		index.put(new CarView(1, "Skoda", "Fabia", 2015, "PB1234AKX"));
+		index.put(new CarView(2, "Skoda", "Fabia", 2016, "PB1234AK"));
+		index.put(new CarView(3, "Skoda", "Fabia", 2017, "PB1234BK"));
+
+		assertEquals(new CarSearchIndex.Hits(List.of(2, 1), 2), index.search("PB 1234 AK", 0, 10));
+	}
+
+	@Test
+	void updatedCarIsFoundOnlyByItsNewValues() {
+		index.put(new CarView(1, "Opel", "Astra", 2010, "PB1111AA"));
+		index.put(new CarView(1, "Ford", "Focus", 2010, "PB2222AA"));
+
+		assertEquals(1, index.size());
+		assertEquals(0, index.search("opel", 0, 10).total());
+		assertEquals(0, index.search("astra", 0, 10).total());
+		assertEquals(0, index.search("PB1111", 0, 10).total());
+		assertEquals(List.of(1), index.search("ford focus", 0, 10).ids());
+		assertEquals(List.of(1), index.search("PB2222AA", 0, 10).ids());
+	}
+
+	@Test
+	void deletedCarIsNoLongerFound() {
+		index.put(new CarView(1, "Opel", "Astra", 2010, "PB1111AA"));
+		index.put(new CarView(2, "Opel", "Corsa", 2011, "PB2222AA"));
+
+		index.carDeleted(1);
+
+		assertEquals(1, index.size());
+		assertEquals(new CarSearchIndex.Hits(List.of(2), 1), index.search("opel", 0, 10));
+		assertEquals(0, index.search("PB1111AA", 0, 10).total());
+		assertEquals(0, index.search("astra", 0, 10).total());
+	}
+
+	@Test
+	void changesMadeDuringRebuildAreReplayedOntoRebuiltIndex() {
+		index.put(new CarView(1, "Opel", "Astra", 2010, "PB1111AA"));
+
+		index.rebuild(sink -> {
+			sink.accept(new CarView(1, "Opel", "Astra", 2010, "PB1111AA"));
+			sink.accept(new CarView(2, "Opel", "Corsa", 2011, "PB2222AA"));
+			index.put(new CarView(3, "Dacia", "Logan", 2012, "PB3333AA"));
+			index.remove(1);
+			index.put(new CarView(2, "Ford", "Corsa", 2011, "PB2222AA"));
+		});
+
+		assertEquals(2, index.size());
+		assertEquals(0, index.search("opel", 0, 10).total());
+		assertEquals(List.of(2), index.search("ford corsa", 0, 10).ids());
+		assertEquals(List.of(3), index.search("PB3333AA", 0, 10).ids());
+	}
+
+	@Test
+	void failedRebuildKeepsCurrentIndex() {
+		index.put(new CarView(1, "Opel", "Astra", 2010, "PB1111AA"));
+
+		assertThrows(IllegalStateException.class, () -> index.rebuild(sink -> {
+			sink.accept(new CarView(2, "Opel", "Corsa", 2011, "PB2222AA"));
+			throw new IllegalStateException();
+		}));
+		index.put(new CarView(3, "Dacia", "Logan", 2012, "PB3333AA"));
+
+		assertEquals(2, index.size());
+		assertEquals(List.of(1), index.search("astra", 0, 10).ids());
+		assertEquals(List.of(3), index.search("logan", 0, 10).ids());
+	}
+}
@@ -0,0 +1,101 @@
+package uni.plovdiv.webserver.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.GarageDailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.maintenance.GarageMonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.repository.GarageDailyOccupancyRepository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@TestPropertySource(properties = {"fleet.reports.parallelism=4", "fleet.reports.garages-per-task=2"})
+class FleetReportServiceTests {
+
+	private static final int GARAGES = 9;
+
+	@Autowired
+	private FleetReportService fleetReportService;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	@Autowired
+	private GarageCache garageCache;
+
+	@Autowired
+	private GarageOccupancyCalendar occupancyCalendar;
+
+	@Autowired
+	private GarageDailyOccupancyRepository occupancyRepository;
+
+	@ParameterizedTest
+	@ValueSource(ints = {20, 2500})
+	void fleetReportsMatchPerGarageReports(int daysAhead) {
+		String city = "Fleet " + daysAhead;
+		LocalDate firstDay = LocalDate.now().plusDays(daysAhead);
+		List<ResponseGarageDTO> garages = new ArrayList<>();
+		for (int i = 0; i < GARAGES; i++) {
+			ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Fleet garage " + i, "Ring", city, 4));
+			ResponseCarDTO car = carService.createCar(new CreateCarDTO("Dacia", "Logan", 2019, "FL%04d%02d".formatted(daysAhead, i), List.of(garage.id())));
+			for (int booking = 0; booking < i % 4; booking++) {
+				maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Service", firstDay.plusDays(i * 5L + booking), garage.id()));
+			}
+			garages.add(garage);
+		}
+
+		LocalDate lastDay = firstDay.plusDays(60);
+		List<GarageDailyAvailabilityReportDTO> dailyReports = fleetReportService.getDailyAvailabilityReport(city, firstDay, lastDay);
+		assertEquals(GARAGES, dailyReports.size());
+		for (int i = 0; i < GARAGES; i++) {
+			assertEquals(garages.get(i).id(), dailyReports.get(i).garageId());
+			assertEquals(garageService.getDailyAvailabilityReport(garages.get(i).id(), firstDay, lastDay), dailyReports.get(i).report());
+		}
+
+		YearMonth firstMonth = YearMonth.from(firstDay);
+		List<GarageMonthlyRequestsReportDTO> monthlyReports = fleetReportService.getMonthlyRequestsReport(city, firstMonth, firstMonth.plusMonths(2));
+		assertEquals(maintenanceService.getMonthlyRequestsReportByCity(city, firstMonth, firstMonth.plusMonths(2)), monthlyReports);
+	}
+
+	@Test
+	void closeInterruptsReportWaitingForConnection() throws Exception {
+		String city = "Fleet closing";
+		garageService.createGarage(new CreateGarageDTO("Fleet closing garage", "Ring", city, 4));
+		FleetReportService starvedService = new FleetReportService(garageCache, occupancyCalendar, occupancyRepository, 1, 0, 1);
+		LocalDate firstDay = LocalDate.now().plusYears(5);
+
+		CompletableFuture<List<GarageDailyAvailabilityReportDTO>> report = CompletableFuture.supplyAsync(
+				() -> starvedService.getDailyAvailabilityReport(city, firstDay, firstDay.plusDays(7)));
+		Thread.sleep(200);
+		starvedService.close();
+
+		ExecutionException exception = assertThrows(ExecutionException.class, () -> report.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+	}
+}
@@ -0,0 +1,28 @@
+package uni.plovdiv.webserver.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class GarageCacheTests {
+
+	@Autowired
+	private GarageService garageService;
+
+	@Test
+	void blankCityIsNotServedFromTheAllCitiesEntry() {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Cached", "Center", "Haskovo", 2));
+
+		assertTrue(garageService.findAll(null).contains(garage));
+		assertEquals(List.of(), garageService.findAll(""));
+		assertTrue(garageService.findAll(null).contains(garage));
+	}
+}
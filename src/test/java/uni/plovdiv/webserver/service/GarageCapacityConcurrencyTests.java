@@ -0,0 +1,228 @@
+package uni.plovdiv.webserver.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.BatchMode;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.maintenance.UpdateMaintenanceDTO;
+import uni.plovdiv.webserver.exception.RequestValidationException;
+import uni.plovdiv.webserver.model.GarageDailyOccupancy;
+import uni.plovdiv.webserver.model.GarageDailyOccupancyId;
+import uni.plovdiv.webserver.repository.GarageDailyOccupancyRepository;
+import uni.plovdiv.webserver.repository.MaintenanceRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class GarageCapacityConcurrencyTests {
+
+	private static final int BOOKINGS = 300;
+
+	private static final int THREADS = 64;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	@Autowired
+	private MaintenanceRepository maintenanceRepository;
+
+	@Autowired
+	private GarageDailyOccupancyRepository occupancyRepository;
+
+	@Autowired
+	private GarageOccupancyCalendar occupancyCalendar;
+
+	@Test
+	void concurrentBookingsNeverOverbookGarage() throws Exception {
+		int capacity = 7;
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Stress", "Center", "Plovdiv", capacity));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Opel", "Astra", 2015, "PB0001AA", List.of(garage.id())));
+		LocalDate firstDate = LocalDate.of(2030, 1, 10);
+		LocalDate secondDate = firstDate.plusDays(1);
+
+		AtomicInteger successful = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < BOOKINGS; i++) {
+			LocalDate date = i % 2 == 0 ? firstDate : secondDate;
+			futures.add(executor.submit(() -> {
+				start.await();
+				try {
+					maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil change", date, garage.id()));
+					successful.incrementAndGet();
+				} catch (RequestValidationException exception) {
+					rejected.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		assertEquals(2 * capacity, successful.get());
+		assertEquals(BOOKINGS - 2 * capacity, rejected.get());
+		assertEquals(capacity, maintenanceRepository.findByGarageIdAndScheduledDateBetween(garage.id(), firstDate, firstDate).size());
+		assertEquals(capacity, maintenanceRepository.findByGarageIdAndScheduledDateBetween(garage.id(), secondDate, secondDate).size());
+		assertEquals(capacity, occupancyRepository.findById(new GarageDailyOccupancyId(garage.id(), firstDate)).orElseThrow().getRequests());
+		assertEquals(capacity, occupancyRepository.findById(new GarageDailyOccupancyId(garage.id(), secondDate)).orElseThrow().getRequests());
+	}
+
+	@Test
+	void concurrentOppositeMovesWithinGarageDoNotDeadlock() throws Exception {
+		int moves = 40;
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Moves", "Center", "Plovdiv", 2 * moves));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Opel", "Vectra", 2012, "PB0003AA", List.of(garage.id())));
+		LocalDate firstDate = LocalDate.now().plusDays(20);
+		LocalDate secondDate = firstDate.plusDays(1);
+		List<Integer> firstDateIds = new ArrayList<>();
+		List<Integer> secondDateIds = new ArrayList<>();
+		for (int i = 0; i < moves; i++) {
+			firstDateIds.add(maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil change", firstDate, garage.id())).id());
+			secondDateIds.add(maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil change", secondDate, garage.id())).id());
+		}
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < moves; i++) {
+			Integer forward = firstDateIds.get(i);
+			Integer backward = secondDateIds.get(i);
+			futures.add(executor.submit(() -> {
+				start.await();
+				return maintenanceService.updateMaintenance(forward, new UpdateMaintenanceDTO(null, null, secondDate, null));
+			}));
+			futures.add(executor.submit(() -> {
+				start.await();
+				return maintenanceService.updateMaintenance(backward, new UpdateMaintenanceDTO(null, null, firstDate, null));
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		for (LocalDate date : List.of(firstDate, secondDate)) {
+			assertEquals(moves, maintenanceRepository.findByGarageIdAndScheduledDateBetween(garage.id(), date, date).size());
+			assertEquals(moves, occupancyRepository.findById(new GarageDailyOccupancyId(garage.id(), date)).orElseThrow().getRequests());
+			assertEquals(moves, occupancyCalendar.getRequests(garage.id(), date));
+		}
+	}
+
+	@Test
+	void concurrentBatchesLockingLedgerRowsInDifferentOrdersDoNotDeadlock() throws Exception {
+		int batches = 8;
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Batches", "Center", "Plovdiv", batches + 1));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Opel", "Zafira", 2016, "PB0004AA", List.of(garage.id())));
+		Random random = new Random(42);
+		ExecutorService executor = Executors.newFixedThreadPool(batches);
+
+		for (int round = 0; round < 10; round++) {
+			List<LocalDate> dates = LocalDate.now().plusDays(100 + round * 10).datesUntil(LocalDate.now().plusDays(110 + round * 10)).toList();
+			for (int i = 0; i < dates.size(); i += 2) {
+				maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Inspection", dates.get(i), garage.id()));
+			}
+
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < batches; i++) {
+				List<LocalDate> shuffled = new ArrayList<>(dates);
+				Collections.shuffle(shuffled, random);
+				List<CreateMaintenanceDTO> batch = shuffled.stream()
+						.map(date -> new CreateMaintenanceDTO(car.id(), "Inspection", date, garage.id()))
+						.toList();
+				futures.add(executor.submit(() -> {
+					start.await();
+					return maintenanceService.createMaintenances(batch, BatchMode.ALL_OR_NOTHING);
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+
+			for (int i = 0; i < dates.size(); i++) {
+				LocalDate date = dates.get(i);
+				int booked = maintenanceRepository.findByGarageIdAndScheduledDateBetween(garage.id(), date, date).size();
+				assertEquals(batches + (i % 2 == 0 ? 1 : 0), booked);
+				assertEquals(booked, occupancyRepository.findById(new GarageDailyOccupancyId(garage.id(), date)).map(GarageDailyOccupancy::getRequests).orElseThrow());
+				assertEquals(booked, occupancyCalendar.getRequests(garage.id(), date));
+			}
+		}
+		executor.shutdown();
+	}
+
+	@Test
+	void occupancyCalendarMatchesLedgerWhenReloadedDuringBookings() throws Exception {
+		int capacity = 40;
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Calendar", "Center", "Plovdiv", capacity));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Opel", "Corsa", 2018, "PB0002AA", List.of(garage.id())));
+		LocalDate firstDate = LocalDate.now().plusDays(10);
+		LocalDate secondDate = firstDate.plusDays(1);
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < BOOKINGS; i++) {
+			LocalDate date = i % 2 == 0 ? firstDate : secondDate;
+			boolean reload = i % 50 == 0;
+			futures.add(executor.submit(() -> {
+				start.await();
+				if (reload) {
+					occupancyCalendar.load();
+				}
+				try {
+					Integer id = maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil change", date, garage.id())).id();
+					if (id % 3 == 0) {
+						maintenanceService.deleteMaintenance(id);
+					}
+				} catch (RequestValidationException exception) {
+					return null;
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		for (LocalDate date : List.of(firstDate, secondDate)) {
+			int ledger = occupancyRepository.findById(new GarageDailyOccupancyId(garage.id(), date)).orElseThrow().getRequests();
+			assertEquals(maintenanceRepository.findByGarageIdAndScheduledDateBetween(garage.id(), date, date).size(), ledger);
+			assertEquals(ledger, occupancyCalendar.getRequests(garage.id(), date));
+		}
+		assertEquals(occupancyRepository.findById(new GarageDailyOccupancyId(garage.id(), firstDate)).orElseThrow().getRequests()
+						+ occupancyRepository.findById(new GarageDailyOccupancyId(garage.id(), secondDate)).orElseThrow().getRequests(),
+				occupancyCalendar.getRequests(garage.id(), firstDate, secondDate));
+	}
+}
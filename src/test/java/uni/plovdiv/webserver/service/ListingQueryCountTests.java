@@ -0,0 +1,84 @@
+package uni.plovdiv.webserver.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ListingQueryCountTests {
+
+	private static final int CARS = 40;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	private ResponseGarageDTO firstGarage;
+
+	@BeforeEach
+	void createFleet() {
+		firstGarage = garageService.createGarage(new CreateGarageDTO("Fleet A", "North", "Sofia", CARS));
+		ResponseGarageDTO secondGarage = garageService.createGarage(new CreateGarageDTO("Fleet B", "South", "Sofia", CARS));
+		for (int i = 0; i < CARS; i++) {
+			ResponseCarDTO car = carService.createCar(new CreateCarDTO("Skoda", "Octavia", 2018, "CA%04dXX".formatted(i), List.of(firstGarage.id(), secondGarage.id())));
+			maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Inspection", LocalDate.of(2031, 5, 1), firstGarage.id()));
+		}
+	}
+
+	@Test
+	void carListingUsesFixedNumberOfStatements() {
+		List<ResponseCarDTO> cars = assertAtMostStatements(3, () -> carService.findAll("Skoda", firstGarage.id(), null, null));
+
+		assertEquals(CARS, cars.size());
+		assertEquals(CARS, cars.stream().map(ResponseCarDTO::id).distinct().count());
+		assertTrue(cars.stream().allMatch(car -> car.garages().size() == 2));
+	}
+
+	@Test
+	void maintenanceListingUsesSingleStatement() {
+		assertEquals(CARS, assertAtMostStatements(1, () -> maintenanceService.findAll(null, firstGarage.id(), null, null)).size());
+	}
+
+	@Test
+	void garageListingUsesSingleStatement() {
+		assertAtMostStatements(1, () -> garageService.findAll("Sofia"));
+	}
+
+	private <T> T assertAtMostStatements(long maximumStatements, Supplier<T> listing) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+		try {
+			T result = listing.get();
+			assertTrue(statistics.getPrepareStatementCount() <= maximumStatements,
+					"listing issued %s JDBC statements, expected at most %s".formatted(statistics.getPrepareStatementCount(), maximumStatements));
+			return result;
+		} finally {
+			statistics.setStatisticsEnabled(false);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package uni.plovdiv.webserver.service;
+
+import org.junit.jupiter.api.Test;
+import uni.plovdiv.webserver.dto.maintenance.MaintenanceChangeEventDTO;
+import uni.plovdiv.webserver.dto.maintenance.MaintenanceChangeType;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MaintenanceEventBufferTests {
+
+	private final MaintenanceEventBuffer buffer = new MaintenanceEventBuffer(3);
+
+	@Test
+	void eventsAfterReturnsRetainedEventsAcrossTheWrapAround() {
+		append(5);
+
+		assertEquals(Optional.of(List.of(3L, 4L, 5L)), sequencesAfter(2));
+		assertEquals(Optional.of(List.of(5L)), sequencesAfter(4));
+		assertEquals(Optional.of(List.of()), sequencesAfter(5));
+	}
+
+	@Test
+	void eventsAfterOverwrittenSequenceAskForReset() {
+		append(5);
+
+		assertEquals(Optional.empty(), sequencesAfter(1));
+		assertEquals(Optional.empty(), sequencesAfter(0));
+	}
+
+	@Test
+	void sequenceAheadOfHeadAfterRestartAsksForReset() {
+		append(2);
+
+		assertEquals(2, buffer.lastSequence());
+		assertEquals(Optional.empty(), sequencesAfter(7));
+	}
+
+	@Test
+	void emptyBufferHasNothingAfterZero() {
+		assertEquals(Optional.of(List.of()), sequencesAfter(0));
+	}
+
+	private void append(int count) {
+		for (int i = 0; i < count; i++) {
+			buffer.append(new MaintenanceChangedEvent(MaintenanceChangeType.CREATED, 1, List.of(i), List.of()));
+		}
+	}
+
+	private Optional<List<Long>> sequencesAfter(long sequence) {
+		return buffer.eventsAfter(sequence).map(events -> events.stream().map(MaintenanceChangeEventDTO::sequence).toList());
+	}
+}
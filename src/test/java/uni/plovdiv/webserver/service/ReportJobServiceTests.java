@@ -0,0 +1,131 @@
+package uni.plovdiv.webserver.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.DailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.garage.UpdateGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.maintenance.MonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.dto.maintenance.UpdateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.report.ReportJobDTO;
+import uni.plovdiv.webserver.dto.report.ReportJobStatus;
+import uni.plovdiv.webserver.exception.ReportJobDoesNotExistException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ReportJobServiceTests {
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(2032, 3, 1);
+
+	@Autowired
+	private ReportJobService reportJobService;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	@Autowired
+	private GarageCache garageCache;
+
+	private ResponseGarageDTO garage;
+
+	private ResponseCarDTO car;
+
+	@BeforeEach
+	void createGarage() {
+		garage = garageService.createGarage(new CreateGarageDTO("Reports", "East", "Varna", 5));
+		car = carService.createCar(new CreateCarDTO("Toyota", "Corolla", 2020, "B%04dRP".formatted(garage.id()), List.of(garage.id())));
+		maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Tyres", FIRST_DAY, garage.id()));
+	}
+
+	@Test
+	void identicalSubmissionsShareOneCachedJob() {
+		ReportJobDTO first = reportJobService.submitDailyAvailabilityReport(garage.id(), FIRST_DAY, FIRST_DAY.plusDays(6));
+		ReportJobDTO second = reportJobService.submitDailyAvailabilityReport(garage.id(), FIRST_DAY, FIRST_DAY.plusDays(6));
+		assertEquals(first.id(), second.id());
+
+		ReportJobDTO completed = reportJobService.awaitById(first.id(), 10).join();
+		assertEquals(ReportJobStatus.COMPLETED, completed.status());
+		assertEquals(7, completed.result().size());
+		assertEquals(new DailyAvailabilityReportDTO(FIRST_DAY, 1, 4), completed.result().get(0));
+
+		ReportJobDTO cached = reportJobService.submitDailyAvailabilityReport(garage.id(), FIRST_DAY, FIRST_DAY.plusDays(6));
+		assertEquals(first.id(), cached.id());
+		assertEquals(ReportJobStatus.COMPLETED, cached.status());
+	}
+
+	@Test
+	void maintenanceChangesInvalidateCachedReportsOfThatGarage() {
+		YearMonth month = YearMonth.from(FIRST_DAY);
+		ReportJobDTO before = reportJobService.awaitById(reportJobService.submitMonthlyRequestsReport(garage.id(), month, month).id(), 10).join();
+		assertEquals(1, ((MonthlyRequestsReportDTO) before.result().get(0)).requests());
+
+		ResponseGarageDTO otherGarage = garageService.createGarage(new CreateGarageDTO("Other", "West", "Varna", 5));
+		maintenanceService.createMaintenance(new CreateMaintenanceDTO(
+				carService.createCar(new CreateCarDTO("Toyota", "Yaris", 2021, "B%04dOT".formatted(otherGarage.id()), List.of(otherGarage.id()))).id(),
+				"Tyres", FIRST_DAY, otherGarage.id()));
+		assertEquals(before.id(), reportJobService.submitMonthlyRequestsReport(garage.id(), month, month).id());
+
+		maintenanceService.updateMaintenance(
+				maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Brakes", FIRST_DAY.plusDays(3), garage.id())).id(),
+				new UpdateMaintenanceDTO(null, "Brake pads", null, null));
+		ReportJobDTO after = reportJobService.submitMonthlyRequestsReport(garage.id(), month, month);
+		assertNotEquals(before.id(), after.id());
+		assertEquals(2, ((MonthlyRequestsReportDTO) reportJobService.awaitById(after.id(), 10).join().result().get(0)).requests());
+
+		garageService.updateGarage(garage.id(), new UpdateGarageDTO(null, null, null, 9));
+		ReportJobDTO daily = reportJobService.awaitById(reportJobService.submitDailyAvailabilityReport(garage.id(), FIRST_DAY, FIRST_DAY).id(), 10).join();
+		assertEquals(new DailyAvailabilityReportDTO(FIRST_DAY, 1, 8), daily.result().get(0));
+	}
+
+	@Test
+	void unknownJobsAreReportedMissing() {
+		assertThrows(ReportJobDoesNotExistException.class, () -> reportJobService.awaitById("%d-missing".formatted(garage.id()), 0));
+	}
+
+	@Test
+	void closeFailsRunningAndQueuedJobs() {
+		GarageService blockingGarageService = mock(GarageService.class);
+		CountDownLatch started = new CountDownLatch(1);
+		when(blockingGarageService.getDailyAvailabilityReport(any(), any(), any())).thenAnswer(invocation -> {
+			started.countDown();
+			new CountDownLatch(1).await();
+			return List.of();
+		});
+		ReportJobService closingService = new ReportJobService(blockingGarageService, maintenanceService, garageCache,
+				new GarageReportVersions(), 1, 10, 100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+
+		ReportJobDTO running = closingService.submitDailyAvailabilityReport(garage.id(), FIRST_DAY, FIRST_DAY);
+		assertDoesNotThrow(() -> started.await(5, TimeUnit.SECONDS));
+		ReportJobDTO queued = closingService.submitDailyAvailabilityReport(garage.id(), FIRST_DAY, FIRST_DAY.plusDays(1));
+		closingService.close();
+
+		assertEquals(ReportJobStatus.FAILED, closingService.awaitById(running.id(), 5).join().status());
+		assertEquals(ReportJobStatus.FAILED, closingService.awaitById(queued.id(), 5).join().status());
+	}
+}
@@ -0,0 +1,131 @@
+package uni.plovdiv.webserver.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.DailyAvailabilityReportDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.maintenance.CreateMaintenanceDTO;
+import uni.plovdiv.webserver.dto.maintenance.MonthlyRequestsReportDTO;
+import uni.plovdiv.webserver.exception.CarDoesNotExistException;
+import uni.plovdiv.webserver.exception.GarageDoesNotExistException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestPropertySource(properties = {"compaction.interval=1h", "compaction.batch-size=2"})
+class TombstoneCompactorTests {
+
+	private static final LocalDate DAY = LocalDate.of(2033, 5, 10);
+
+	@Autowired
+	private TombstoneCompactor tombstoneCompactor;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private MaintenanceService maintenanceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void deletedCarIsHiddenAtOnceAndPurgedByCompaction() {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Tombstones", "North", "Ruse", 3));
+		ResponseGarageDTO otherGarage = garageService.createGarage(new CreateGarageDTO("Tombstones 2", "South", "Ruse", 3));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Skoda", "Fabia", 2018, "P%04dTS".formatted(garage.id()), List.of(garage.id(), otherGarage.id())));
+		ResponseCarDTO otherCar = carService.createCar(new CreateCarDTO("Skoda", "Octavia", 2019, "P%04dTO".formatted(garage.id()), List.of(garage.id())));
+		for (int day = 0; day < 3; day++) {
+			maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", DAY, garage.id()));
+			maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", DAY.plusDays(day), otherGarage.id()));
+		}
+
+		assertTrue(carService.deleteCar(car.id()));
+		assertThrows(CarDoesNotExistException.class, () -> carService.findById(car.id()));
+		assertTrue(maintenanceService.findAll(null, garage.id(), DAY.minusDays(1), DAY.plusDays(1)).isEmpty());
+		assertTrue(maintenanceService.findAll(car.id(), null, null, null).isEmpty());
+		assertEquals(new DailyAvailabilityReportDTO(DAY, 0, 3), garageService.getDailyAvailabilityReport(garage.id(), DAY, DAY).get(0));
+
+		tombstoneCompactor.compact();
+		assertEquals(0, countRows("SELECT COUNT(*) FROM car WHERE id = ?", car.id()));
+		assertEquals(0, countRows("SELECT COUNT(*) FROM car_garages WHERE car_id = ?", car.id()));
+		assertEquals(0, countRows("SELECT COUNT(*) FROM maintenance WHERE car_id = ?", car.id()));
+		assertEquals(new DailyAvailabilityReportDTO(DAY, 0, 3), garageService.getDailyAvailabilityReport(garage.id(), DAY, DAY).get(0));
+		for (int booking = 0; booking < 3; booking++) {
+			maintenanceService.createMaintenance(new CreateMaintenanceDTO(otherCar.id(), "Tyres", DAY, garage.id()));
+		}
+	}
+
+	@Test
+	void reportsAgreeRightAfterCarIsDeleted() {
+		String city = "Tombstone reports";
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Reports", "North", city, 5));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Kia", "Ceed", 2020, "P%04dRD".formatted(garage.id()), List.of(garage.id())));
+		ResponseCarDTO otherCar = carService.createCar(new CreateCarDTO("Kia", "Rio", 2021, "P%04dRO".formatted(garage.id()), List.of(garage.id())));
+		LocalDate calendarDay = LocalDate.now().plusDays(30);
+		LocalDate storedDay = LocalDate.now().plusYears(3);
+		for (LocalDate day : List.of(calendarDay, storedDay)) {
+			maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Oil", day, garage.id()));
+			maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Tyres", day, garage.id()));
+			maintenanceService.createMaintenance(new CreateMaintenanceDTO(otherCar.id(), "Oil", day, garage.id()));
+		}
+
+		assertTrue(carService.deleteCar(car.id()));
+
+		for (LocalDate day : List.of(calendarDay, storedDay)) {
+			YearMonth month = YearMonth.from(day);
+			List<MonthlyRequestsReportDTO> monthlyReport = maintenanceService.getMonthlyRequestsReport(garage.id(), month, month);
+			assertEquals(1, monthlyReport.get(0).requests());
+			assertEquals(monthlyReport, maintenanceService.getMonthlyRequestsReportByCity(city, month, month).get(0).report());
+			assertEquals(new DailyAvailabilityReportDTO(day, 1, 4), garageService.getDailyAvailabilityReport(garage.id(), day, day).get(0));
+			assertEquals(1, maintenanceService.findAll(null, garage.id(), day.minusDays(1), day.plusDays(1)).size());
+		}
+
+		tombstoneCompactor.compact();
+		for (LocalDate day : List.of(calendarDay, storedDay)) {
+			assertEquals(new DailyAvailabilityReportDTO(day, 1, 4), garageService.getDailyAvailabilityReport(garage.id(), day, day).get(0));
+		}
+	}
+
+	@Test
+	void deletedGarageWithRegisteredCarsIsHiddenAtOnceAndPurgedByCompaction() {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Closing", "West", "Ruse", 5));
+		ResponseGarageDTO otherGarage = garageService.createGarage(new CreateGarageDTO("Staying", "East", "Ruse", 5));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Opel", "Corsa", 2015, "P%04dCL".formatted(garage.id()), List.of(garage.id(), otherGarage.id())));
+		for (int day = 0; day < 5; day++) {
+			maintenanceService.createMaintenance(new CreateMaintenanceDTO(car.id(), "Brakes", DAY.plusDays(day), garage.id()));
+		}
+
+		assertTrue(garageService.deleteGarage(garage.id()));
+		assertThrows(GarageDoesNotExistException.class, () -> garageService.findById(garage.id()));
+		assertTrue(carService.findAll(null, garage.id(), null, null).isEmpty());
+		assertEquals(List.of(otherGarage), carService.findAll(null, otherGarage.id(), null, null).get(0).garages());
+		assertTrue(maintenanceService.findAll(car.id(), null, null, null).isEmpty());
+
+		tombstoneCompactor.compact();
+		assertEquals(0, countRows("SELECT COUNT(*) FROM garage WHERE id = ?", garage.id()));
+		assertEquals(0, countRows("SELECT COUNT(*) FROM car_garages WHERE garage_id = ?", garage.id()));
+		assertEquals(0, countRows("SELECT COUNT(*) FROM maintenance WHERE garage_id = ?", garage.id()));
+		assertEquals(0, countRows("SELECT COUNT(*) FROM garage_daily_occupancy WHERE garage_id = ?", garage.id()));
+		assertEquals(1, countRows("SELECT COUNT(*) FROM car_garages WHERE car_id = ?", car.id()));
+	}
+
+	private int countRows(String sql, Integer id) {
+		return jdbcTemplate.queryForObject(sql, Integer.class, id);
+	}
+}
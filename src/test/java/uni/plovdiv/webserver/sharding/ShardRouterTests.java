@@ -0,0 +1,102 @@
+package uni.plovdiv.webserver.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardRouterTests {
+
+	private final ShardRouter router = new ShardRouter(new ShardTopology(3, 0,
+			List.of(URI.create("http://shard0"), URI.create("http://shard1"), URI.create("http://shard2"))), new ObjectMapper());
+
+	@Test
+	void entityPathsAreRoutedToTheOwnerOfTheirId() {
+		assertEquals(ShardRoute.owner(0), resolve("GET", "/garages/1"));
+		assertEquals(ShardRoute.owner(1), resolve("GET", "/garages/5"));
+		assertEquals(ShardRoute.owner(2), resolve("DELETE", "/cars/6"));
+		assertEquals(ShardRoute.owner(1), resolve("GET", "/maintenance/2"));
+		assertEquals(ShardRoute.owner(2), resolve("GET", "/reports/jobs/3-9f1c"));
+	}
+
+	@Test
+	void queryParametersSelectTheOwner() {
+		assertEquals(ShardRoute.owner(1), resolve("GET", "/garages/dailyAvailabilityReport", "garageId", "2"));
+		assertEquals(ShardRoute.owner(2), resolve("GET", "/garages/earliestAvailableSlots", "carId", "3"));
+		assertEquals(ShardRoute.owner(0), resolve("GET", "/cars", "garageId", "4"));
+		assertEquals(ShardRoute.owner(2), resolve("GET", "/maintenance/page", "carId", "6"));
+		assertEquals(ShardRoute.owner(1), resolve("GET", "/maintenance", "garageId", "5", "carId", "6"));
+	}
+
+	@Test
+	void listingsWithoutOwnerAreScattered() {
+		assertEquals(ShardRoute.scatter(), resolve("GET", "/garages"));
+		assertEquals(ShardRoute.scatter(), resolve("GET", "/cars"));
+		assertEquals(ShardRoute.scatter(), resolve("GET", "/maintenance"));
+		assertEquals(ShardRoute.scatter(), resolve("GET", "/maintenance/monthlyRequestsReportByCity"));
+		assertEquals(ShardRoute.scatter(), resolve("GET", "/fleet/dailyAvailabilityReport"));
+		assertEquals(ShardRoute.scatter(), resolve("GET", "/cars", "garageId", "not-a-number"));
+	}
+
+	@Test
+	void requestsWithoutShardKeyStayLocal() {
+		assertEquals(ShardRoute.local(), resolve("POST", "/garages"));
+		assertEquals(ShardRoute.local(), resolve("GET", "/garages/dailyAvailabilityReport"));
+		assertEquals(ShardRoute.local(), resolve("GET", "/reports/jobs/unknown"));
+		assertEquals(ShardRoute.local(), resolve("GET", "/actuator/health"));
+	}
+
+	@Test
+	void requestBodySelectsTheOwner() {
+		assertEquals(ShardRoute.owner(1), resolveBody("POST", "/cars", "{\"make\":\"Opel\",\"garageIds\":[2,5]}"));
+		assertEquals(ShardRoute.owner(2), resolveBody("POST", "/maintenance", "{\"carId\":6,\"garageId\":3}"));
+		assertEquals(ShardRoute.owner(0), resolveBody("POST", "/maintenance/batch", "[{\"carId\":1,\"garageId\":4},{\"carId\":7,\"garageId\":1}]"));
+		assertEquals(ShardRoute.owner(0), resolveBody("PUT", "/cars/4", "{\"garageIds\":[1,7]}"));
+	}
+
+	@Test
+	void unreadableOrMissingBodyStaysLocal() {
+		assertEquals(ShardRoute.local(), resolveBody("POST", "/cars", "{not json"));
+		assertEquals(ShardRoute.local(), resolveBody("POST", "/maintenance", ""));
+		assertEquals(ShardRoute.local(), resolveBody("POST", "/maintenance", "{\"garageId\":\"first\"}"));
+		assertEquals(ShardRoute.owner(1), resolveBody("PUT", "/cars/5", "{not json"));
+	}
+
+	@Test
+	void requestsSpanningShardsAreRejected() {
+		assertEquals(ShardRoute.Type.REJECT, resolveBody("POST", "/cars", "{\"garageIds\":[1,2]}").type());
+		assertEquals(ShardRoute.Type.REJECT, resolveBody("PUT", "/cars/1", "{\"garageIds\":[2]}").type());
+		assertEquals(ShardRoute.Type.REJECT, resolveBody("PUT", "/maintenance/1", "{\"carId\":2,\"garageId\":1}").type());
+		ShardRoute batch = resolveBody("POST", "/maintenance/batch", "[{\"carId\":1,\"garageId\":1},{\"carId\":3,\"garageId\":3}]");
+		assertEquals(ShardRoute.Type.REJECT, batch.type());
+		assertEquals("maintenance requests span shards [0, 2]; garages and cars of one request must live on one shard", batch.rejection());
+	}
+
+	@Test
+	void bodyIsBufferedOnlyForRoutedWrites() {
+		assertTrue(router.needsBody(new MockHttpServletRequest("POST", "/maintenance/batch")));
+		assertTrue(router.needsBody(new MockHttpServletRequest("PUT", "/cars/1")));
+		assertFalse(router.needsBody(new MockHttpServletRequest("GET", "/cars")));
+		assertFalse(router.needsBody(new MockHttpServletRequest("DELETE", "/cars/1")));
+		assertFalse(router.needsBody(new MockHttpServletRequest("POST", "/cars/import")));
+	}
+
+	private ShardRoute resolve(String method, String path, String... parameters) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		for (int i = 0; i + 1 < parameters.length; i += 2) {
+			request.addParameter(parameters[i], parameters[i + 1]);
+		}
+		return router.resolve(request, null);
+	}
+
+	private ShardRoute resolveBody(String method, String path, String body) {
+		return router.resolve(new MockHttpServletRequest(method, path), body.getBytes(StandardCharsets.UTF_8));
+	}
+}
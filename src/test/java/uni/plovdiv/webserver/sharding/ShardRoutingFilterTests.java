@@ -0,0 +1,183 @@
+package uni.plovdiv.webserver.sharding;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uni.plovdiv.webserver.dto.car.CreateCarDTO;
+import uni.plovdiv.webserver.dto.car.ResponseCarDTO;
+import uni.plovdiv.webserver.dto.garage.CreateGarageDTO;
+import uni.plovdiv.webserver.dto.garage.ResponseGarageDTO;
+import uni.plovdiv.webserver.dto.report.ReportJobDTO;
+import uni.plovdiv.webserver.service.CarService;
+import uni.plovdiv.webserver.service.GarageService;
+import uni.plovdiv.webserver.service.ReportJobService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("sharded")
+class ShardRoutingFilterTests {
+
+	private static final int REMOTE_GARAGE_ID = 1_000_000;
+
+	private static final List<String> REMOTE_REQUESTS = new CopyOnWriteArrayList<>();
+
+	private static final HttpServer REMOTE_SHARD = startRemoteShard();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private GarageService garageService;
+
+	@Autowired
+	private CarService carService;
+
+	@Autowired
+	private ReportJobService reportJobService;
+
+	@DynamicPropertySource
+	static void twoShards(DynamicPropertyRegistry registry) {
+		registry.add("sharding.shard-count", () -> 2);
+		registry.add("sharding.shard-index", () -> 0);
+		registry.add("sharding.nodes", () -> "http://localhost:1,http://localhost:%d".formatted(REMOTE_SHARD.getAddress().getPort()));
+	}
+
+	@AfterAll
+	static void stopRemoteShard() {
+		REMOTE_SHARD.stop(0);
+	}
+
+	@BeforeEach
+	void clearRemoteRequests() {
+		REMOTE_REQUESTS.clear();
+	}
+
+	@Test
+	void fleetReportIsGatheredFromAllShards() throws Exception {
+		String city = "Sharded fleet";
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Local shard", "North", city, 3));
+		LocalDate day = LocalDate.now().plusDays(10);
+
+		mockMvc.perform(get("/fleet/dailyAvailabilityReport?city={city}&startDate={day}&endDate={day}", city, day, day))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].garageId").value(garage.id()))
+				.andExpect(jsonPath("$[0].report[0].availableCapacity").value(3))
+				.andExpect(jsonPath("$[1].garageId").value(REMOTE_GARAGE_ID));
+
+		assertEquals(List.of("/fleet/dailyAvailabilityReport 0"), REMOTE_REQUESTS);
+	}
+
+	@Test
+	void scatteredListIsMergedAndSortedById() throws Exception {
+		String city = "Sharded garages";
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Local garage", "West", city, 3));
+
+		mockMvc.perform(get("/garages").param("city", city))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(3)))
+				.andExpect(jsonPath("$[0].id").value(0))
+				.andExpect(jsonPath("$[1].id").value(garage.id()))
+				.andExpect(jsonPath("$[2].id").value(REMOTE_GARAGE_ID));
+
+		assertEquals(List.of("/garages 0"), REMOTE_REQUESTS);
+	}
+
+	@Test
+	void scatteredObjectIsMergedFieldByField() throws Exception {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Normalized", "East", "Sharded cars", 3));
+		ResponseCarDTO car = carService.createCar(new CreateCarDTO("Sharded", "Local", 2019, "S%04dSH".formatted(garage.id()), List.of(garage.id())));
+
+		mockMvc.perform(get("/cars").param("shape", "normalized").param("carMake", "Sharded"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.cars", hasSize(2)))
+				.andExpect(jsonPath("$.cars[0].id").value(0))
+				.andExpect(jsonPath("$.cars[1].id").value(car.id()))
+				.andExpect(jsonPath("$.garages", hasSize(2)))
+				.andExpect(jsonPath("$.garages[0].id").value(0))
+				.andExpect(jsonPath("$.garages[1].id").value(garage.id()));
+	}
+
+	@Test
+	void reportJobPollIsForwardedToOwningShard() throws Exception {
+		String remoteJobId = "%d-remote".formatted(REMOTE_GARAGE_ID);
+
+		mockMvc.perform(get("/reports/jobs/{id}", remoteJobId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(remoteJobId))
+				.andExpect(jsonPath("$.status").value("COMPLETED"));
+
+		assertEquals(List.of("/reports/jobs/%s 0".formatted(remoteJobId)), REMOTE_REQUESTS);
+	}
+
+	@Test
+	void reportJobPollOfLocalGarageStaysLocal() throws Exception {
+		ResponseGarageDTO garage = garageService.createGarage(new CreateGarageDTO("Local reports", "South", "Sharded reports", 3));
+		LocalDate day = LocalDate.now().plusDays(10);
+		ReportJobDTO job = reportJobService.submitDailyAvailabilityReport(garage.id(), day, day);
+
+		MvcResult poll = mockMvc.perform(get("/reports/jobs/{id}?waitSeconds=5", job.id())).andReturn();
+		mockMvc.perform(asyncDispatch(poll))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(job.id()))
+				.andExpect(jsonPath("$.status").value("COMPLETED"));
+
+		assertTrue(REMOTE_REQUESTS.isEmpty());
+	}
+
+	private static HttpServer startRemoteShard() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/fleet/dailyAvailabilityReport", exchange -> respond(exchange, 200,
+					"[{\"garageId\":%d,\"garageName\":\"Remote shard\",\"report\":[]}]".formatted(REMOTE_GARAGE_ID)));
+			server.createContext("/garages", exchange -> respond(exchange, 200,
+					"[{\"id\":%d,\"name\":\"Remote B\"},{\"id\":0,\"name\":\"Remote A\"}]".formatted(REMOTE_GARAGE_ID)));
+			server.createContext("/cars", exchange -> respond(exchange, 200,
+					"{\"cars\":[{\"id\":0,\"make\":\"Sharded\",\"garageIds\":[0]}],\"garages\":[{\"id\":0,\"name\":\"Remote A\"}]}"));
+			server.createContext("/reports/jobs/", exchange -> respond(exchange, 200,
+					"{\"id\":\"%s\",\"type\":\"DAILY_AVAILABILITY\",\"garageId\":%d,\"status\":\"COMPLETED\",\"result\":[]}"
+							.formatted(exchange.getRequestURI().getPath().substring("/reports/jobs/".length()), REMOTE_GARAGE_ID)));
+			server.start();
+			return server;
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		REMOTE_REQUESTS.add(exchange.getRequestURI().getPath() + " " + exchange.getRequestHeaders().getFirst(ShardClient.FORWARDED_HEADER));
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(bytes);
+		}
+	}
+}
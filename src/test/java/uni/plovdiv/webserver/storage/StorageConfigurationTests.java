@@ -0,0 +1,77 @@
+package uni.plovdiv.webserver.storage;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StorageConfigurationTests {
+
+	@TempDir
+	private Path directory;
+
+	@TempDir
+	private Path snapshots;
+
+	@Test
+	void snapshotReplacesDatabaseFiles() throws IOException {
+		Files.writeString(directory.resolve("cars.mv.db"), "current");
+		Path snapshot = snapshot("cars.mv.db", "restored");
+
+		restore(snapshot);
+
+		assertEquals("restored", Files.readString(directory.resolve("cars.mv.db")));
+		assertEquals(List.of("cars.mv.db"), fileNames());
+	}
+
+	@Test
+	void truncatedSnapshotKeepsCurrentDatabase() throws IOException {
+		Files.writeString(directory.resolve("cars.mv.db"), "current");
+		Path snapshot = snapshot("cars.mv.db", new Random(7).ints(100_000).mapToObj(Integer::toString).collect(Collectors.joining()));
+		try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() / 2);
+		}
+
+		assertThrows(RuntimeException.class, () -> restore(snapshot));
+
+		assertEquals("current", Files.readString(directory.resolve("cars.mv.db")));
+		assertEquals(List.of("cars.mv.db"), fileNames());
+	}
+
+	private void restore(Path snapshot) {
+		BeanPostProcessor postProcessor = StorageConfiguration.snapshotRestoringPostProcessor(snapshot.toString(), directory.toString(), "cars");
+		postProcessor.postProcessBeforeInitialization(new JdbcDataSource(), "dataSource");
+	}
+
+	private Path snapshot(String entryName, String content) throws IOException {
+		Path snapshot = snapshots.resolve("snapshot.zip");
+		try (OutputStream output = Files.newOutputStream(snapshot); ZipOutputStream zip = new ZipOutputStream(output)) {
+			zip.putNextEntry(new ZipEntry(entryName));
+			zip.write(content.getBytes());
+			zip.closeEntry();
+		}
+		return snapshot;
+	}
+
+	private List<String> fileNames() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(file -> file.getFileName().toString()).sorted().toList();
+		}
+	}
+}